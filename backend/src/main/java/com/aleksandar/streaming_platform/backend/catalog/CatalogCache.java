@@ -0,0 +1,158 @@
+package com.aleksandar.streaming_platform.backend.catalog;
+
+import com.aleksandar.streaming_platform.backend.dto.ContentTypeDto;
+import com.aleksandar.streaming_platform.backend.dto.GenreDto;
+import com.aleksandar.streaming_platform.backend.dto.ResourceVersion;
+import com.aleksandar.streaming_platform.backend.event.CatalogChangedEvent;
+import com.aleksandar.streaming_platform.backend.mapper.DtoMapper;
+import com.aleksandar.streaming_platform.backend.model.ContentType;
+import com.aleksandar.streaming_platform.backend.model.Genre;
+import com.aleksandar.streaming_platform.backend.repository.ContentTypeRepository;
+import com.aleksandar.streaming_platform.backend.repository.GenreRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through, in-process copy of the genre and content type tables. Each table is
+ * loaded on first use and rebuilt after every committed change to it; reads are
+ * served from the current snapshot without locking or touching the database.
+ * Hits and misses are counted as {@code catalog.cache.requests}.
+ */
+@Component
+public class CatalogCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogCache.class);
+
+    private final GenreRepository genreRepository;
+    private final ContentTypeRepository contentTypeRepository;
+    private final DtoMapper dtoMapper;
+
+    private final Slot<GenreDto> genres;
+    private final Slot<ContentTypeDto> contentTypes;
+
+    public CatalogCache(GenreRepository genreRepository,
+                        ContentTypeRepository contentTypeRepository,
+                        DtoMapper dtoMapper,
+                        MeterRegistry meterRegistry) {
+        this.genreRepository = genreRepository;
+        this.contentTypeRepository = contentTypeRepository;
+        this.dtoMapper = dtoMapper;
+        this.genres = new Slot<>("genres", this::loadGenres, meterRegistry);
+        this.contentTypes = new Slot<>("contentTypes", this::loadContentTypes, meterRegistry);
+    }
+
+    public CatalogSnapshot<GenreDto> genres() {
+        return genres.get();
+    }
+
+    public CatalogSnapshot<ContentTypeDto> contentTypes() {
+        return contentTypes.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.table()) {
+            case GENRES -> genres.refresh();
+            case CONTENT_TYPES -> contentTypes.refresh();
+        }
+    }
+
+    private CatalogSnapshot<GenreDto> loadGenres() {
+        List<Genre> all = genreRepository.findAll();
+        ResourceVersion version = version(all.stream().map(Genre::getUpdatedAt).collect(Collectors.toList()));
+        List<GenreDto> dtos = all.stream().map(dtoMapper::toGenreDto).collect(Collectors.toList());
+        return new CatalogSnapshot<>(dtos, GenreDto::id, GenreDto::name, version);
+    }
+
+    private CatalogSnapshot<ContentTypeDto> loadContentTypes() {
+        List<ContentType> all = contentTypeRepository.findAll();
+        ResourceVersion version = version(all.stream().map(ContentType::getUpdatedAt).collect(Collectors.toList()));
+        List<ContentTypeDto> dtos = all.stream().map(dtoMapper::toContentTypeDto).collect(Collectors.toList());
+        return new CatalogSnapshot<>(dtos, ContentTypeDto::id, ContentTypeDto::name, version);
+    }
+
+    /**
+     * Same version the database would report: the latest update and the row count
+     */
+    private static ResourceVersion version(List<LocalDateTime> updatedAts) {
+        LocalDateTime lastModified = updatedAts.stream()
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new ResourceVersion(lastModified, (long) updatedAts.size());
+    }
+
+    private static final class Slot<T> {
+
+        private final String name;
+        private final Supplier<CatalogSnapshot<T>> loader;
+        private final Counter hits;
+        private final Counter misses;
+
+        private volatile CatalogSnapshot<T> snapshot;
+
+        Slot(String name, Supplier<CatalogSnapshot<T>> loader, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.loader = loader;
+            this.hits = counter(meterRegistry, name, "hit");
+            this.misses = counter(meterRegistry, name, "miss");
+            Gauge.builder("catalog.cache.size", this, slot -> slot.snapshot != null ? slot.snapshot.size() : 0)
+                    .tag("cache", name)
+                    .register(meterRegistry);
+        }
+
+        CatalogSnapshot<T> get() {
+            CatalogSnapshot<T> current = snapshot;
+            if (current != null) {
+                hits.increment();
+                return current;
+            }
+
+            synchronized (this) {
+                if (snapshot == null) {
+                    misses.increment();
+                    snapshot = load();
+                } else {
+                    hits.increment();
+                }
+                return snapshot;
+            }
+        }
+
+        /**
+         * Builds the replacement while readers keep using the old snapshot. Loads are
+         * serialised, so a read-through load that started before a commit cannot
+         * overwrite the snapshot built after it.
+         */
+        synchronized void refresh() {
+            snapshot = load();
+        }
+
+        private CatalogSnapshot<T> load() {
+            long startTime = System.currentTimeMillis();
+            CatalogSnapshot<T> loaded = loader.get();
+            logger.debug("Loaded {} {} into the catalog cache in {} ms",
+                    loaded.size(), name, System.currentTimeMillis() - startTime);
+            return loaded;
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+            return Counter.builder("catalog.cache.requests")
+                    .tag("cache", name)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
\ No newline at end of file
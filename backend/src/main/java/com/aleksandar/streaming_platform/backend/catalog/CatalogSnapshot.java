@@ -0,0 +1,122 @@
+package com.aleksandar.streaming_platform.backend.catalog;
+
+import com.aleksandar.streaming_platform.backend.dto.ResourceVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, fully materialised copy of a small reference table. A new snapshot is
+ * built on every change and swapped in whole, so readers never see a partial update.
+ */
+public final class CatalogSnapshot<T> {
+
+    private final List<T> byName;
+    private final Map<UUID, T> byId;
+    private final Map<String, T> byExactName;
+    private final Function<T, UUID> idOf;
+    private final Function<T, String> nameOf;
+    private final ResourceVersion version;
+
+    CatalogSnapshot(List<T> items, Function<T, UUID> idOf, Function<T, String> nameOf, ResourceVersion version) {
+        this.idOf = idOf;
+        this.nameOf = nameOf;
+        this.version = version;
+
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(nameOf));
+        this.byName = Collections.unmodifiableList(sorted);
+
+        Map<UUID, T> ids = new HashMap<>();
+        Map<String, T> names = new HashMap<>();
+        for (T item : sorted) {
+            ids.put(idOf.apply(item), item);
+            names.put(nameOf.apply(item), item);
+        }
+        this.byId = Collections.unmodifiableMap(ids);
+        this.byExactName = Collections.unmodifiableMap(names);
+    }
+
+    public Optional<T> findById(UUID id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public Optional<T> findByName(String name) {
+        return Optional.ofNullable(byExactName.get(name));
+    }
+
+    public Page<T> findAll(Pageable pageable) {
+        return page(byName, pageable);
+    }
+
+    /**
+     * Case-insensitive substring match on the name, like the repository search it replaces
+     */
+    public Page<T> searchByName(String name, Pageable pageable) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        List<T> matches = byName.stream()
+                .filter(item -> nameOf.apply(item).toLowerCase(Locale.ROOT).contains(needle))
+                .collect(Collectors.toList());
+        return page(matches, pageable);
+    }
+
+    public ResourceVersion version() {
+        return version;
+    }
+
+    public int size() {
+        return byName.size();
+    }
+
+    private Page<T> page(List<T> items, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(items);
+        }
+
+        List<T> ordered = items;
+        Comparator<T> comparator = comparator(pageable.getSort());
+        if (comparator != null) {
+            ordered = new ArrayList<>(items);
+            ordered.sort(comparator);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), ordered.size());
+        int to = Math.min(from + pageable.getPageSize(), ordered.size());
+        return new PageImpl<>(ordered.subList(from, to), pageable, ordered.size());
+    }
+
+    /**
+     * Returns null when the items are already in the requested order. Only the
+     * properties the DTOs expose can be sorted on; anything else keeps name order.
+     */
+    private Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<T> next = switch (order.getProperty()) {
+                case "name" -> Comparator.comparing(nameOf, order.isIgnoreCase()
+                        ? String.CASE_INSENSITIVE_ORDER : Comparator.naturalOrder());
+                case "id" -> Comparator.comparing(idOf);
+                default -> null;
+            };
+            if (next == null) {
+                continue;
+            }
+            next = order.isDescending() ? next.reversed() : next;
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+}
\ No newline at end of file
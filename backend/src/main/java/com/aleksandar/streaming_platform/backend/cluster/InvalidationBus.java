@@ -0,0 +1,261 @@
+package com.aleksandar.streaming_platform.backend.cluster;
+
+import com.aleksandar.streaming_platform.backend.config.CacheNames;
+import com.aleksandar.streaming_platform.backend.event.CatalogChangedEvent;
+import com.aleksandar.streaming_platform.backend.event.ContentChangedEvent;
+import com.aleksandar.streaming_platform.backend.event.ContentImportedEvent;
+import com.aleksandar.streaming_platform.backend.event.UserAuthoritiesChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Relays cache invalidations between backend nodes over Postgres LISTEN/NOTIFY.
+ * Local change events are sent as a NOTIFY inside the writing transaction, so other
+ * nodes only hear about committed changes. Each node keeps one connection listening
+ * on the channel and republishes what other nodes sent as the same local events,
+ * which the in-process caches already handle. Inactive on any other database.
+ */
+@Component
+public class InvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private static final String CHANNEL = "cache_invalidation";
+    private static final String ALL_KEYS = "*";
+    private static final String KEY_SEPARATOR = ",";
+    // Keeps a notification of imported ids well below the 8000 byte payload limit
+    private static final int IDS_PER_NOTIFICATION = 150;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    private final boolean enabled;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean active;
+    private volatile Thread listenerThread;
+    private volatile Connection listenerConnection;
+
+    public InvalidationBus(DataSource dataSource,
+                           JdbcTemplate jdbcTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           CacheManager cacheManager,
+                           @Value("${cache.invalidation.enabled:true}") boolean enabled,
+                           @Value("${cache.invalidation.poll-timeout:PT1S}") Duration pollTimeout,
+                           @Value("${cache.invalidation.reconnect-delay:PT5S}") Duration reconnectDelay) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            logger.info("Cache invalidation bus disabled, {} does not support LISTEN/NOTIFY", database);
+            return;
+        }
+
+        active = true;
+        Thread thread = new Thread(this::listen, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        listenerThread = thread;
+        thread.start();
+        logger.info("Cache invalidation bus started as node {}", nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        active = false;
+        Thread thread = listenerThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        closeQuietly(listenerConnection);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        send(Kind.CONTENT, event.contentId().toString());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onContentImported(ContentImportedEvent event) {
+        List<UUID> ids = event.contentIds();
+        for (int from = 0; from < ids.size(); from += IDS_PER_NOTIFICATION) {
+            String keys = ids.subList(from, Math.min(from + IDS_PER_NOTIFICATION, ids.size())).stream()
+                    .map(UUID::toString)
+                    .collect(Collectors.joining(KEY_SEPARATOR));
+            send(Kind.CONTENT_IMPORTED, keys);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        send(event.table() == CatalogChangedEvent.Table.GENRES ? Kind.GENRES : Kind.CONTENT_TYPES, ALL_KEYS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserAuthoritiesChanged(UserAuthoritiesChangedEvent event) {
+        send(Kind.USER_AUTHORITIES, event.userId() != null ? event.userId().toString() : ALL_KEYS);
+    }
+
+    /**
+     * Runs on the writing transaction's connection, so Postgres delivers the
+     * notification on commit and drops it on rollback
+     */
+    private void send(Kind kind, String key) {
+        // Events republished from other nodes must not be sent back out
+        if (!active || Thread.currentThread() == listenerThread) {
+            return;
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null, CHANNEL, nodeId + " " + kind + " " + key);
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+
+        while (active) {
+            // Held for the lifetime of the node, so it is one connection less for the pool
+            try (Connection connection = dataSource.getConnection()) {
+                listenerConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                if (reconnecting) {
+                    // Anything sent while disconnected was missed
+                    invalidateAll();
+                }
+                reconnecting = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (active) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!active) {
+                    return;
+                }
+                logger.warn("Cache invalidation listener lost its connection, retrying in {}: {}",
+                        reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            } finally {
+                listenerConnection = null;
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        String[] parts = payload.split(" ", 3);
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+
+        try {
+            Kind kind = Kind.valueOf(parts[1]);
+            logger.debug("Invalidating {} {} on behalf of node {}", kind, parts[2], parts[0]);
+            publish(kind, parts[2]);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring malformed cache invalidation '{}'", payload);
+        } catch (RuntimeException e) {
+            // A failing cache must not stop the listener from handling later notifications
+            logger.error("Failed to apply cache invalidation '{}'", payload, e);
+        }
+    }
+
+    private void publish(Kind kind, String key) {
+        switch (kind) {
+            case CONTENT -> eventPublisher.publishEvent(new ContentChangedEvent(UUID.fromString(key)));
+            case CONTENT_IMPORTED -> eventPublisher.publishEvent(new ContentImportedEvent(
+                    Arrays.stream(key.split(KEY_SEPARATOR)).map(UUID::fromString).collect(Collectors.toList())));
+            case GENRES -> eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Table.GENRES));
+            case CONTENT_TYPES -> eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Table.CONTENT_TYPES));
+            case USER_AUTHORITIES -> eventPublisher.publishEvent(
+                    new UserAuthoritiesChangedEvent(ALL_KEYS.equals(key) ? null : UUID.fromString(key)));
+        }
+    }
+
+    /**
+     * Drops every cache that can be rebuilt as a whole. Content invalidations are
+     * keyed by id, so those missed while disconnected are not replayed; the episode
+     * trees they would have evicted are cleared instead.
+     */
+    private void invalidateAll() {
+        logger.info("Cache invalidation listener reconnected, invalidating catalog, authority and episode tree caches");
+        publish(Kind.GENRES, ALL_KEYS);
+        publish(Kind.CONTENT_TYPES, ALL_KEYS);
+        publish(Kind.USER_AUTHORITIES, ALL_KEYS);
+        Cache episodeTrees = cacheManager.getCache(CacheNames.EPISODE_TREES);
+        if (episodeTrees != null) {
+            episodeTrees.clear();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Failed to close the cache invalidation connection: {}", e.getMessage());
+        }
+    }
+
+    private enum Kind {
+        CONTENT,
+        CONTENT_IMPORTED,
+        GENRES,
+        CONTENT_TYPES,
+        USER_AUTHORITIES
+    }
+}
\ No newline at end of file
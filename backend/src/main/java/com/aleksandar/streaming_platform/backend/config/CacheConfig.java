@@ -0,0 +1,78 @@
+package com.aleksandar.streaming_platform.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Value("${cache.user-authorities.maximum-size:10000}")
+    private long userAuthoritiesMaximumSize;
+
+    @Value("${cache.user-authorities.ttl:10m}")
+    private Duration userAuthoritiesTtl;
+
+    @Value("${cache.jwt-tokens.maximum-size:50000}")
+    private long jwtTokensMaximumSize;
+
+    @Value("${cache.episode-trees.maximum-size:2000}")
+    private long episodeTreesMaximumSize;
+
+    @Value("${cache.episode-trees.ttl:30m}")
+    private Duration episodeTreesTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only explicitly registered caches are allowed, so a typo in a cache name fails fast
+        cacheManager.setCacheNames(List.of());
+
+        cacheManager.registerCustomCache(CacheNames.USER_AUTHORITIES, Caffeine.newBuilder()
+                .maximumSize(userAuthoritiesMaximumSize)
+                .expireAfterWrite(userAuthoritiesTtl)
+                .recordStats()
+                .build());
+
+        cacheManager.registerCustomCache(CacheNames.JWT_TOKENS, Caffeine.newBuilder()
+                .maximumSize(jwtTokensMaximumSize)
+                .expireAfter(Expiry.creating((Object key, Object value) -> untilExpiry(value)))
+                .recordStats()
+                .build());
+
+        // Evicted on episode and content changes; the TTL bounds how long a tree cached from a
+        // racing read, or left over from an invalidation this node missed, can stay stale
+        cacheManager.registerCustomCache(CacheNames.EPISODE_TREES, Caffeine.newBuilder()
+                .maximumSize(episodeTreesMaximumSize)
+                .expireAfterWrite(episodeTreesTtl)
+                .recordStats()
+                .build());
+
+        // Evictions issued inside a transaction are applied after commit, so a concurrent
+        // request cannot re-populate the cache with the pre-commit state
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Decoded tokens live exactly as long as the token itself is valid
+     */
+    private static Duration untilExpiry(Object value) {
+        if (value instanceof Jwt jwt && jwt.getExpiresAt() != null) {
+            Duration remaining = Duration.between(Instant.now(), jwt.getExpiresAt());
+            return remaining.isNegative() ? Duration.ZERO : remaining;
+        }
+        return Duration.ZERO;
+    }
+}
\ No newline at end of file
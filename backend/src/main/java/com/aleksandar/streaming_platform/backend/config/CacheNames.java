@@ -0,0 +1,13 @@
+package com.aleksandar.streaming_platform.backend.config;
+
+public final class CacheNames {
+
+    public static final String USER_AUTHORITIES = "userAuthorities";
+
+    public static final String JWT_TOKENS = "jwtTokens";
+
+    public static final String EPISODE_TREES = "episodeTrees";
+
+    private CacheNames() {
+    }
+}
\ No newline at end of file
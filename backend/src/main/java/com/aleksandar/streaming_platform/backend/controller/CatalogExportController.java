@@ -0,0 +1,45 @@
+package com.aleksandar.streaming_platform.backend.controller;
+
+import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
+import com.aleksandar.streaming_platform.backend.service.CatalogExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/v1/admin/export")
+public class CatalogExportController {
+    
+    private final CatalogExportService catalogExportService;
+    
+    public CatalogExportController(CatalogExportService catalogExportService) {
+        this.catalogExportService = catalogExportService;
+    }
+    
+    // The body is written on an async request thread while the catalogue is read
+    @GetMapping("/content")
+    public ResponseEntity<StreamingResponseBody> exportContent(@RequestParam(defaultValue = "ndjson") String format) {
+        CatalogExportService.Format exportFormat = switch (format.toLowerCase(Locale.ROOT)) {
+            case "ndjson" -> CatalogExportService.Format.NDJSON;
+            case "csv" -> CatalogExportService.Format.CSV;
+            default -> throw new BusinessLogicException("Unsupported export format: " + format);
+        };
+        
+        StreamingResponseBody body = out -> catalogExportService.exportContent(out, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat == CatalogExportService.Format.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("content." + format.toLowerCase(Locale.ROOT))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
\ No newline at end of file
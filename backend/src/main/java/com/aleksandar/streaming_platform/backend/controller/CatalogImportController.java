@@ -0,0 +1,34 @@
+package com.aleksandar.streaming_platform.backend.controller;
+
+import com.aleksandar.streaming_platform.backend.dto.ImportReportDto;
+import com.aleksandar.streaming_platform.backend.service.CatalogImportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/admin/import")
+public class CatalogImportController {
+    
+    private static final String TEXT_CSV = "text/csv";
+    
+    private final CatalogImportService catalogImportService;
+    
+    public CatalogImportController(CatalogImportService catalogImportService) {
+        this.catalogImportService = catalogImportService;
+    }
+    
+    // One content per line, read as the body arrives
+    @PostMapping(value = "/content", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReportDto> importNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(catalogImportService.importContent(body, CatalogImportService.Format.NDJSON));
+    }
+    
+    @PostMapping(value = "/content", consumes = TEXT_CSV)
+    public ResponseEntity<ImportReportDto> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(catalogImportService.importContent(body, CatalogImportService.Format.CSV));
+    }
+}
\ No newline at end of file
@@ -1,10 +1,19 @@
 package com.aleksandar.streaming_platform.backend.controller;
 
+import com.aleksandar.streaming_platform.backend.dto.BulkGenreAssignmentDto;
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
+import com.aleksandar.streaming_platform.backend.dto.ContentGenresDto;
+import com.aleksandar.streaming_platform.backend.dto.ContentSuggestionDto;
 import com.aleksandar.streaming_platform.backend.dto.CreateContentDto;
+import com.aleksandar.streaming_platform.backend.dto.CursorSliceDto;
 import com.aleksandar.streaming_platform.backend.dto.EpisodeDto;
+import com.aleksandar.streaming_platform.backend.dto.EpisodeTreeDto;
 import com.aleksandar.streaming_platform.backend.dto.GenreDto;
+import com.aleksandar.streaming_platform.backend.dto.ResourceVersion;
+import com.aleksandar.streaming_platform.backend.security.AuthorizationService;
+import com.aleksandar.streaming_platform.backend.service.ContentGenreService;
 import com.aleksandar.streaming_platform.backend.service.ContentService;
+import com.aleksandar.streaming_platform.backend.service.EpisodeService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,8 +21,11 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -21,9 +33,18 @@ import java.util.UUID;
 public class ContentController {
     
     private final ContentService contentService;
-    
-    public ContentController(ContentService contentService) {
+    private final ContentGenreService contentGenreService;
+    private final EpisodeService episodeService;
+    private final AuthorizationService authorizationService;
+    
+    public ContentController(ContentService contentService,
+                             ContentGenreService contentGenreService,
+                             EpisodeService episodeService,
+                             AuthorizationService authorizationService) {
         this.contentService = contentService;
+        this.contentGenreService = contentGenreService;
+        this.episodeService = episodeService;
+        this.authorizationService = authorizationService;
     }
     
     @PostMapping
@@ -33,7 +54,11 @@ public class ContentController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ContentDto> getContentById(@PathVariable UUID id) {
+    public ResponseEntity<ContentDto> getContentById(@PathVariable UUID id, WebRequest webRequest) {
+        Optional<ResourceVersion> version = contentService.getContentVersion(id);
+        if (version.isPresent() && webRequest.checkNotModified(version.get().etag(), version.get().lastModifiedMillis())) {
+            return null;
+        }
         return contentService.getContentById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -45,6 +70,14 @@ public class ContentController {
         return ResponseEntity.ok(content);
     }
     
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorSliceDto<ContentDto>> getAllContentByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorSliceDto<ContentDto> content = contentService.getAllContentByCursor(cursor, size);
+        return ResponseEntity.ok(content);
+    }
+    
     @GetMapping("/available")
     public ResponseEntity<Page<ContentDto>> getAvailableContent(Pageable pageable) {
         Page<ContentDto> content = contentService.getAvailableContent(pageable);
@@ -57,6 +90,14 @@ public class ContentController {
         return ResponseEntity.ok(content);
     }
     
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ContentSuggestionDto>> suggestContent(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ContentSuggestionDto> suggestions = contentService.suggestContent(q, Math.min(Math.max(limit, 1), 50));
+        return ResponseEntity.ok(suggestions);
+    }
+    
     @GetMapping("/by-type")
     public ResponseEntity<Page<ContentDto>> getContentByType(@RequestParam String type, Pageable pageable) {
         Page<ContentDto> content = contentService.getContentByType(type, pageable);
@@ -90,6 +131,14 @@ public class ContentController {
         return ResponseEntity.ok(content);
     }
     
+    @GetMapping("/recent/cursor")
+    public ResponseEntity<CursorSliceDto<ContentDto>> getRecentContentByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorSliceDto<ContentDto> content = contentService.getRecentContentByCursor(cursor, size);
+        return ResponseEntity.ok(content);
+    }
+    
     @GetMapping("/popular")
     public ResponseEntity<Page<ContentDto>> getPopularContent(Pageable pageable) {
         Page<ContentDto> content = contentService.getPopularContent(pageable);
@@ -123,6 +172,12 @@ public class ContentController {
         return ResponseEntity.ok(episodes);
     }
     
+    @GetMapping("/{id}/episode-tree")
+    public ResponseEntity<EpisodeTreeDto> getEpisodeTree(@PathVariable UUID id) {
+        EpisodeTreeDto episodeTree = episodeService.getEpisodeTree(id);
+        return ResponseEntity.ok(episodeTree);
+    }
+    
     @GetMapping("/{id}/genres")
     public ResponseEntity<Page<GenreDto>> getContentGenres(@PathVariable UUID id, Pageable pageable) {
         Page<GenreDto> genres = contentService.getGenresByContentId(id, pageable);
@@ -135,6 +190,18 @@ public class ContentController {
         return ResponseEntity.noContent().build();
     }
     
+    @PutMapping("/{id}/genres")
+    public ResponseEntity<Void> replaceContentGenres(@PathVariable UUID id, @Valid @RequestBody ContentGenresDto genres) {
+        contentGenreService.bulkAssignGenresToContent(id, genres.genreIds());
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/genres/bulk")
+    public ResponseEntity<Void> assignGenresToContents(@Valid @RequestBody BulkGenreAssignmentDto assignment) {
+        contentGenreService.assignGenresToContents(assignment.contentIds(), assignment.genreIds());
+        return ResponseEntity.noContent().build();
+    }
+    
     @DeleteMapping("/{id}/genres/{genreId}")
     public ResponseEntity<Void> removeGenreFromContent(@PathVariable UUID id, @PathVariable UUID genreId) {
         contentService.removeGenreFromContent(id, genreId);
@@ -142,7 +209,8 @@ public class ContentController {
     }
     
     @GetMapping("/recommendations")
-    public ResponseEntity<Page<ContentDto>> getRecommendations(@RequestParam UUID userId, Pageable pageable) {
+    public ResponseEntity<Page<ContentDto>> getRecommendations(Pageable pageable) {
+        UUID userId = authorizationService.getCurrentUserId();
         Page<ContentDto> recommendations = contentService.getContentRecommendations(userId, pageable);
         return ResponseEntity.ok(recommendations);
     }
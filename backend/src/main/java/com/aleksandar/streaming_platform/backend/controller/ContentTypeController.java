@@ -2,6 +2,7 @@ package com.aleksandar.streaming_platform.backend.controller;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
 import com.aleksandar.streaming_platform.backend.dto.ContentTypeDto;
+import com.aleksandar.streaming_platform.backend.dto.ResourceVersion;
 import com.aleksandar.streaming_platform.backend.service.ContentTypeService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -9,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -43,13 +45,22 @@ public class ContentTypeController {
     }
     
     @GetMapping
-    public ResponseEntity<Page<ContentTypeDto>> getAllContentTypes(Pageable pageable) {
+    public ResponseEntity<Page<ContentTypeDto>> getAllContentTypes(Pageable pageable, WebRequest webRequest) {
+        ResourceVersion version = contentTypeService.getContentTypesVersion();
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         Page<ContentTypeDto> contentTypes = contentTypeService.getAllContentTypesOrderedByName(pageable);
         return ResponseEntity.ok(contentTypes);
     }
     
     @GetMapping("/search")
-    public ResponseEntity<Page<ContentTypeDto>> searchContentTypes(@RequestParam String name, Pageable pageable) {
+    public ResponseEntity<Page<ContentTypeDto>> searchContentTypes(@RequestParam String name, Pageable pageable,
+                                                                   WebRequest webRequest) {
+        ResourceVersion version = contentTypeService.getContentTypesVersion();
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         Page<ContentTypeDto> contentTypes = contentTypeService.searchContentTypesByName(name, pageable);
         return ResponseEntity.ok(contentTypes);
     }
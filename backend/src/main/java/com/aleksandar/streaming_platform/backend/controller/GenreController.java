@@ -2,6 +2,7 @@ package com.aleksandar.streaming_platform.backend.controller;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
 import com.aleksandar.streaming_platform.backend.dto.GenreDto;
+import com.aleksandar.streaming_platform.backend.dto.ResourceVersion;
 import com.aleksandar.streaming_platform.backend.service.GenreService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -9,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -43,13 +45,21 @@ public class GenreController {
     }
     
     @GetMapping
-    public ResponseEntity<Page<GenreDto>> getAllGenres(Pageable pageable) {
+    public ResponseEntity<Page<GenreDto>> getAllGenres(Pageable pageable, WebRequest webRequest) {
+        ResourceVersion version = genreService.getGenresVersion();
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         Page<GenreDto> genres = genreService.getAllGenresOrderedByName(pageable);
         return ResponseEntity.ok(genres);
     }
     
     @GetMapping("/search")
-    public ResponseEntity<Page<GenreDto>> searchGenres(@RequestParam String name, Pageable pageable) {
+    public ResponseEntity<Page<GenreDto>> searchGenres(@RequestParam String name, Pageable pageable, WebRequest webRequest) {
+        ResourceVersion version = genreService.getGenresVersion();
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         Page<GenreDto> genres = genreService.searchGenresByName(name, pageable);
         return ResponseEntity.ok(genres);
     }
@@ -0,0 +1,40 @@
+package com.aleksandar.streaming_platform.backend.controller;
+
+import com.aleksandar.streaming_platform.backend.media.ImageVariant;
+import com.aleksandar.streaming_platform.backend.service.ImageService;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/images")
+public class ImageController {
+    
+    private final ImageService imageService;
+    
+    public ImageController(ImageService imageService) {
+        this.imageService = imageService;
+    }
+    
+    @GetMapping("/{contentId}")
+    public ResponseEntity<Resource> getThumbnail(@PathVariable UUID contentId,
+                                                 @RequestParam(required = false) Integer w,
+                                                 WebRequest webRequest) {
+        ImageVariant variant = imageService.getThumbnailVariant(contentId, w);
+        // Answer revalidations before rendering; this also sets the ETag header on the response
+        if (webRequest.checkNotModified(variant.etag())) {
+            return null;
+        }
+        
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .contentType(MediaType.IMAGE_JPEG)
+                .body(imageService.render(variant));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.aleksandar.streaming_platform.backend.controller;
+
+import com.aleksandar.streaming_platform.backend.dto.MediaPackageDto;
+import com.aleksandar.streaming_platform.backend.service.PackagingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/media-packages")
+public class MediaPackageController {
+    
+    private final PackagingService packagingService;
+    
+    public MediaPackageController(PackagingService packagingService) {
+        this.packagingService = packagingService;
+    }
+    
+    // Accepts either a content id or an episode id; packaging continues in the background
+    @PostMapping("/media/{mediaId}")
+    public ResponseEntity<MediaPackageDto> packageMedia(@PathVariable UUID mediaId) {
+        MediaPackageDto mediaPackage = packagingService.packageMedia(mediaId);
+        return new ResponseEntity<>(mediaPackage, HttpStatus.ACCEPTED);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<MediaPackageDto> getPackageById(@PathVariable UUID id) {
+        return packagingService.getPackage(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.aleksandar.streaming_platform.backend.controller;
+
+import com.aleksandar.streaming_platform.backend.media.MediaStorage;
+import com.aleksandar.streaming_platform.backend.media.MediaStreamer;
+import com.aleksandar.streaming_platform.backend.service.PackagingService;
+import com.aleksandar.streaming_platform.backend.service.StreamingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/stream")
+public class StreamController {
+    
+    // Packaged files live in a directory per package id and are never rewritten
+    private static final String IMMUTABLE_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable()
+            .getHeaderValue();
+    
+    private final StreamingService streamingService;
+    private final PackagingService packagingService;
+    private final MediaStorage mediaStorage;
+    private final MediaStreamer mediaStreamer;
+    
+    public StreamController(StreamingService streamingService,
+                            PackagingService packagingService,
+                            MediaStorage mediaStorage,
+                            MediaStreamer mediaStreamer) {
+        this.streamingService = streamingService;
+        this.packagingService = packagingService;
+        this.mediaStorage = mediaStorage;
+        this.mediaStreamer = mediaStreamer;
+    }
+    
+    // Accepts either a content id or an episode id
+    @GetMapping("/{id}")
+    public void stream(@PathVariable UUID id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String location = streamingService.getVideoLocation(id);
+        if (mediaStorage.isExternal(location)) {
+            response.setStatus(HttpStatus.FOUND.value());
+            response.setHeader(HttpHeaders.LOCATION, location);
+            return;
+        }
+        mediaStreamer.stream(mediaStorage.resolve(location), request, response);
+    }
+    
+    // Redirects to the manifest of the newest HLS package of a content or episode
+    @GetMapping("/{id}/hls")
+    public void streamHls(@PathVariable UUID id, HttpServletResponse response) {
+        UUID packageId = packagingService.getLatestPackageId(id);
+        response.setStatus(HttpStatus.FOUND.value());
+        response.setHeader(HttpHeaders.LOCATION, "/api/v1/stream/hls/" + packageId + "/index.m3u8");
+    }
+    
+    @GetMapping("/hls/{packageId}/{fileName:.+}")
+    public void streamPackagedFile(@PathVariable UUID packageId,
+                                   @PathVariable String fileName,
+                                   HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        Path file = packagingService.resolvePackageFile(packageId, fileName);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+        mediaStreamer.stream(file, request, response);
+    }
+}
\ No newline at end of file
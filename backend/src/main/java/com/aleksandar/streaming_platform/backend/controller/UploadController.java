@@ -0,0 +1,74 @@
+package com.aleksandar.streaming_platform.backend.controller;
+
+import com.aleksandar.streaming_platform.backend.dto.CreateUploadDto;
+import com.aleksandar.streaming_platform.backend.dto.MediaUploadDto;
+import com.aleksandar.streaming_platform.backend.service.UploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/uploads")
+public class UploadController {
+    
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+    private static final String UPLOAD_CHECKSUM = "Upload-Checksum";
+    
+    private final UploadService uploadService;
+    
+    public UploadController(UploadService uploadService) {
+        this.uploadService = uploadService;
+    }
+    
+    @PostMapping
+    public ResponseEntity<MediaUploadDto> createUpload(@Valid @RequestBody CreateUploadDto createUploadDto) {
+        MediaUploadDto upload = uploadService.createUpload(createUploadDto);
+        return ResponseEntity.created(URI.create("/api/v1/uploads/" + upload.id()))
+                .headers(progressHeaders(upload))
+                .body(upload);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<MediaUploadDto> getUploadById(@PathVariable UUID id) {
+        return uploadService.getUpload(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Progress probe used by clients to find where to resume
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> getUploadProgress(@PathVariable UUID id) {
+        return uploadService.getUpload(id)
+                .map(upload -> ResponseEntity.ok().headers(progressHeaders(upload)).<Void>build())
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // The request body is the raw chunk, starting at Upload-Offset
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> appendChunk(@PathVariable UUID id,
+                                            @RequestHeader(UPLOAD_OFFSET) long offset,
+                                            @RequestHeader(value = UPLOAD_CHECKSUM, required = false) String checksum,
+                                            HttpServletRequest request) throws IOException {
+        MediaUploadDto upload = uploadService.appendChunk(id, offset, checksum, request.getInputStream());
+        return ResponseEntity.status(HttpStatus.NO_CONTENT)
+                .headers(progressHeaders(upload))
+                .build();
+    }
+    
+    private static HttpHeaders progressHeaders(MediaUploadDto upload) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(UPLOAD_OFFSET, String.valueOf(upload.offset()));
+        headers.set(UPLOAD_LENGTH, String.valueOf(upload.length()));
+        headers.setCacheControl(CacheControl.noStore());
+        return headers;
+    }
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.aleksandar.streaming_platform.backend.controller;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
 import com.aleksandar.streaming_platform.backend.dto.CreateUserDto;
+import com.aleksandar.streaming_platform.backend.dto.CursorSliceDto;
 import com.aleksandar.streaming_platform.backend.dto.UserDto;
 import com.aleksandar.streaming_platform.backend.dto.WatchlistDto;
 import com.aleksandar.streaming_platform.backend.security.AuthorizationService;
@@ -47,6 +48,15 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
     
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorSliceDto<UserDto>> getAllUsersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        authorizationService.validateAdminAccess();
+        CursorSliceDto<UserDto> users = userService.getAllUsersByCursor(cursor, size);
+        return ResponseEntity.ok(users);
+    }
+    
     @GetMapping("/search")
     public ResponseEntity<Page<UserDto>> searchUsers(@RequestParam String name, Pageable pageable) {
         Page<UserDto> users = userService.searchUsersByName(name, pageable);
@@ -0,0 +1,45 @@
+package com.aleksandar.streaming_platform.backend.controller;
+
+import com.aleksandar.streaming_platform.backend.dto.ContinueWatchingDto;
+import com.aleksandar.streaming_platform.backend.dto.UpdateWatchProgressDto;
+import com.aleksandar.streaming_platform.backend.dto.WatchProgressDto;
+import com.aleksandar.streaming_platform.backend.security.AuthorizationService;
+import com.aleksandar.streaming_platform.backend.service.WatchProgressService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/watch-progress")
+public class WatchProgressController {
+    
+    private final WatchProgressService watchProgressService;
+    private final AuthorizationService authorizationService;
+    
+    public WatchProgressController(WatchProgressService watchProgressService, AuthorizationService authorizationService) {
+        this.watchProgressService = watchProgressService;
+        this.authorizationService = authorizationService;
+    }
+    
+    // Player heartbeat; accepted into the buffer and persisted on the next flush
+    @PutMapping
+    public ResponseEntity<Void> recordProgress(@Valid @RequestBody UpdateWatchProgressDto progress) {
+        watchProgressService.recordProgress(authorizationService.getCurrentUserId(), progress);
+        return ResponseEntity.accepted().build();
+    }
+    
+    @GetMapping("/continue-watching")
+    public ResponseEntity<List<ContinueWatchingDto>> getContinueWatching(@RequestParam(defaultValue = "20") int limit) {
+        List<ContinueWatchingDto> continueWatching = watchProgressService.getContinueWatching(authorizationService.getCurrentUserId(), limit);
+        return ResponseEntity.ok(continueWatching);
+    }
+    
+    @GetMapping("/content/{contentId}")
+    public ResponseEntity<List<WatchProgressDto>> getProgressByContentId(@PathVariable UUID contentId) {
+        List<WatchProgressDto> progress = watchProgressService.getProgressByContentId(authorizationService.getCurrentUserId(), contentId);
+        return ResponseEntity.ok(progress);
+    }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.aleksandar.streaming_platform.backend.controller;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
+import com.aleksandar.streaming_platform.backend.dto.CursorSliceDto;
 import com.aleksandar.streaming_platform.backend.dto.UserDto;
 import com.aleksandar.streaming_platform.backend.dto.WatchlistDto;
 import com.aleksandar.streaming_platform.backend.security.AuthorizationService;
@@ -46,6 +47,16 @@ public class WatchlistController {
         return ResponseEntity.ok(watchlist);
     }
     
+    @GetMapping("/user/{userId}/cursor")
+    public ResponseEntity<CursorSliceDto<WatchlistDto>> getUserWatchlistByCursor(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        authorizationService.validateWatchlistAccess(userId);
+        CursorSliceDto<WatchlistDto> watchlist = watchlistService.getWatchlistByUserIdByCursor(userId, cursor, size);
+        return ResponseEntity.ok(watchlist);
+    }
+    
     @GetMapping("/user/{userId}/content")
     public ResponseEntity<Page<ContentDto>> getUserWatchlistContent(@PathVariable UUID userId, Pageable pageable) {
         authorizationService.validateWatchlistAccess(userId);
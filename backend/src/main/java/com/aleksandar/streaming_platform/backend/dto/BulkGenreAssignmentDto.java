@@ -0,0 +1,17 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkGenreAssignmentDto(
+    @NotEmpty(message = "At least one content id is required")
+    @Size(max = 1000, message = "At most 1000 contents can be assigned in one request")
+    List<@NotNull UUID> contentIds,
+    
+    @NotEmpty(message = "At least one genre id is required")
+    List<@NotNull UUID> genreIds
+) {}
\ No newline at end of file
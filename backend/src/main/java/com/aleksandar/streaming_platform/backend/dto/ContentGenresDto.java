@@ -0,0 +1,11 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ContentGenresDto(
+    @NotNull(message = "Genre ids are required")
+    List<@NotNull UUID> genreIds
+) {}
\ No newline at end of file
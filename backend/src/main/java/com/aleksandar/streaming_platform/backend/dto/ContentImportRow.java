@@ -0,0 +1,38 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ContentImportRow(
+    @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must not exceed 255 characters")
+    String title,
+    
+    String description,
+    LocalDate releaseDate,
+    
+    @Size(max = 255, message = "Duration must not exceed 255 characters")
+    String duration,
+    
+    @Size(max = 255, message = "Language must not exceed 255 characters")
+    String language,
+    
+    @Size(max = 255, message = "Thumbnail URL must not exceed 255 characters")
+    String thumbnailUrl,
+    
+    @Size(max = 255, message = "Video URL must not exceed 255 characters")
+    String videoUrl,
+    
+    Boolean isAvailable,
+    
+    @NotBlank(message = "Content type is required")
+    String contentType,
+    
+    List<String> genres,
+    
+    List<@Valid EpisodeImportRow> episodes
+) {}
\ No newline at end of file
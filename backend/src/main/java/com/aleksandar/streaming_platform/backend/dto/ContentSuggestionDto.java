@@ -0,0 +1,8 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import java.util.UUID;
+
+public record ContentSuggestionDto(
+    UUID id,
+    String title
+) {}
\ No newline at end of file
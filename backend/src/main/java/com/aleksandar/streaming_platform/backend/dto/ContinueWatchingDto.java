@@ -0,0 +1,17 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ContinueWatchingDto(
+    UUID contentId,
+    String title,
+    String thumbnailUrl,
+    // Episode to play, null for films
+    EpisodeSummaryDto episode,
+    // True when the last watched episode was finished and this is the one after it
+    boolean nextEpisode,
+    int positionSeconds,
+    Integer durationSeconds,
+    LocalDateTime lastWatchedAt
+) {}
\ No newline at end of file
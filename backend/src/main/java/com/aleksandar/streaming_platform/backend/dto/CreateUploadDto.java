@@ -0,0 +1,21 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.UUID;
+
+public record CreateUploadDto(
+    UUID contentId,
+    UUID episodeId,
+    
+    @NotBlank(message = "File name is required")
+    @Size(max = 255, message = "File name must not exceed 255 characters")
+    String fileName,
+    
+    @NotNull(message = "Upload length is required")
+    @Positive(message = "Upload length must be positive")
+    Long length
+) {}
\ No newline at end of file
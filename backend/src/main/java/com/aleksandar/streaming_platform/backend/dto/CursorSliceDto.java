@@ -0,0 +1,10 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import java.util.List;
+
+public record CursorSliceDto<T>(
+    List<T> content,
+    int size,
+    boolean hasNext,
+    String nextCursor
+) {}
\ No newline at end of file
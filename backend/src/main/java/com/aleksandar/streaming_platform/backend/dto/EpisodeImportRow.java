@@ -0,0 +1,35 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+public record EpisodeImportRow(
+    @NotNull(message = "Season number is required")
+    @Positive(message = "Season number must be positive")
+    Integer seasonNumber,
+    
+    @NotNull(message = "Episode number is required")
+    @Positive(message = "Episode number must be positive")
+    Integer episodeNumber,
+    
+    @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must not exceed 255 characters")
+    String title,
+    
+    String description,
+    
+    @Size(max = 255, message = "Duration must not exceed 255 characters")
+    String duration,
+    
+    LocalDate releaseDate,
+    
+    @Size(max = 255, message = "Thumbnail URL must not exceed 255 characters")
+    String thumbnailUrl,
+    
+    @Size(max = 255, message = "Video URL must not exceed 255 characters")
+    String videoUrl
+) {}
\ No newline at end of file
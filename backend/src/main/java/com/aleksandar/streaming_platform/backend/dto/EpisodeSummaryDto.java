@@ -0,0 +1,12 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import java.util.UUID;
+
+public record EpisodeSummaryDto(
+    UUID id,
+    Integer seasonNumber,
+    Integer episodeNumber,
+    String title,
+    String duration,
+    String thumbnailUrl
+) {}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record EpisodeTreeDto(
+    UUID contentId,
+    int episodeCount,
+    List<Season> seasons
+) {
+    
+    public record Season(Integer seasonNumber, List<EpisodeSummaryDto> episodes) {}
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import java.util.List;
+
+public record ImportReportDto(
+    long totalRows,
+    long importedRows,
+    long failedRows,
+    long importedEpisodes,
+    long durationMillis,
+    List<RowError> errors,
+    boolean errorsTruncated
+) {
+    
+    public record RowError(long line, String message) {}
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record MediaPackageDto(
+    UUID id,
+    UUID contentId,
+    UUID episodeId,
+    String status,
+    Integer segmentDuration,
+    Integer segmentCount,
+    Double totalDuration,
+    String manifestUrl,
+    String errorMessage,
+    LocalDateTime createdAt,
+    LocalDateTime completedAt
+) {}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record MediaUploadDto(
+    UUID id,
+    UUID contentId,
+    UUID episodeId,
+    String fileName,
+    long length,
+    long offset,
+    boolean completed,
+    LocalDateTime createdAt,
+    LocalDateTime completedAt
+) {}
\ No newline at end of file
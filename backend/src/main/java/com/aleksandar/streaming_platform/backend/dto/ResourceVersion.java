@@ -0,0 +1,21 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Cheap stand-in for the state of a representation: its newest modification time
+ * plus a count that changes when rows are added or removed without being modified.
+ * Used as a validator for conditional GETs before the representation is built.
+ */
+public record ResourceVersion(LocalDateTime lastModified, Long count) {
+    
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+    
+    // Weak, since equal versions mean equivalent rather than byte-identical JSON
+    public String etag() {
+        return "W/\"" + Long.toHexString(Math.max(lastModifiedMillis(), 0)) + "-" + Long.toHexString(count) + "\"";
+    }
+}
\ No newline at end of file
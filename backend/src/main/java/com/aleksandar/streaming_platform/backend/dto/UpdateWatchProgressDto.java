@@ -0,0 +1,21 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.util.UUID;
+
+public record UpdateWatchProgressDto(
+    @NotNull(message = "Content ID is required")
+    UUID contentId,
+    
+    UUID episodeId,
+    
+    @NotNull(message = "Position is required")
+    @PositiveOrZero(message = "Position must not be negative")
+    Integer positionSeconds,
+    
+    @Positive(message = "Duration must be positive")
+    Integer durationSeconds
+) {}
\ No newline at end of file
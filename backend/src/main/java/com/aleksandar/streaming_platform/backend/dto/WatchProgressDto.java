@@ -0,0 +1,13 @@
+package com.aleksandar.streaming_platform.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record WatchProgressDto(
+    UUID contentId,
+    UUID episodeId,
+    int positionSeconds,
+    Integer durationSeconds,
+    boolean completed,
+    LocalDateTime updatedAt
+) {}
\ No newline at end of file
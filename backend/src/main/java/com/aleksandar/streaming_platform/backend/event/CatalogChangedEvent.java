@@ -0,0 +1,13 @@
+package com.aleksandar.streaming_platform.backend.event;
+
+/**
+ * Published whenever a genre or content type is created, updated or deleted, so that
+ * the in-memory catalog snapshot of that table is rebuilt.
+ */
+public record CatalogChangedEvent(Table table) {
+
+    public enum Table {
+        GENRES,
+        CONTENT_TYPES
+    }
+}
\ No newline at end of file
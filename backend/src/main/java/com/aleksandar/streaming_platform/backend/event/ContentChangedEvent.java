@@ -0,0 +1,9 @@
+package com.aleksandar.streaming_platform.backend.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a content row is created, updated or deleted, so that
+ * in-memory views of the catalogue can refresh the affected entry.
+ */
+public record ContentChangedEvent(UUID contentId) {}
\ No newline at end of file
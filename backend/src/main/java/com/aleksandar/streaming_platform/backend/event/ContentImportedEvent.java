@@ -0,0 +1,10 @@
+package com.aleksandar.streaming_platform.backend.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published once per committed import batch instead of one {@link ContentChangedEvent}
+ * per row, so that in-memory views can load the new contents in a single query.
+ */
+public record ContentImportedEvent(List<UUID> contentIds) {}
\ No newline at end of file
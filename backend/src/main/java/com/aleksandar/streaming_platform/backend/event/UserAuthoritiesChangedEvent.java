@@ -0,0 +1,9 @@
+package com.aleksandar.streaming_platform.backend.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever the role of a user, or a role itself, changes, so that cached
+ * authorities are dropped. A null user id stands for every user.
+ */
+public record UserAuthoritiesChangedEvent(UUID userId) {}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.aleksandar.streaming_platform.backend.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published whenever a content is added to or removed from a user's watchlist.
+ * {@code addedAt} is when the entry was added, also for removals, so listeners
+ * can take back exactly what the addition contributed.
+ */
+public record WatchlistChangedEvent(UUID userId, UUID contentId, boolean added, LocalDateTime addedAt) {}
\ No newline at end of file
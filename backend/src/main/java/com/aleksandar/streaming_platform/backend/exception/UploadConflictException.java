@@ -0,0 +1,7 @@
+package com.aleksandar.streaming_platform.backend.exception;
+
+public class UploadConflictException extends RuntimeException {
+    public UploadConflictException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.aleksandar.streaming_platform.backend.mapper;
+
+import com.aleksandar.streaming_platform.backend.dto.ContentDto;
+import com.aleksandar.streaming_platform.backend.dto.WatchlistDto;
+import com.aleksandar.streaming_platform.backend.model.Content;
+import com.aleksandar.streaming_platform.backend.model.Watchlist;
+import com.aleksandar.streaming_platform.backend.repository.EpisodeRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Maps content to DTOs with episode counts computed by a single grouped COUNT
+ * per page, instead of initialising every content's episodes collection.
+ */
+@Component
+public class ContentDtoAssembler {
+    
+    private final EpisodeRepository episodeRepository;
+    private final DtoMapper dtoMapper;
+    
+    public ContentDtoAssembler(EpisodeRepository episodeRepository, DtoMapper dtoMapper) {
+        this.episodeRepository = episodeRepository;
+        this.dtoMapper = dtoMapper;
+    }
+    
+    public ContentDto toContentDto(Content content) {
+        if (content == null) return null;
+        
+        Long episodeCount = episodeRepository.countByContentId(content.getId());
+        return dtoMapper.toContentDto(content, episodeCount.intValue());
+    }
+    
+    public List<ContentDto> toContentDtoList(List<Content> contents) {
+        Map<UUID, Integer> episodeCounts = countEpisodes(contents);
+        return contents.stream()
+                .map(content -> dtoMapper.toContentDto(content, episodeCounts.getOrDefault(content.getId(), 0)))
+                .collect(Collectors.toList());
+    }
+    
+    public Page<ContentDto> toContentDtoPage(Page<Content> contents) {
+        return new PageImpl<>(toContentDtoList(contents.getContent()), contents.getPageable(), contents.getTotalElements());
+    }
+    
+    public WatchlistDto toWatchlistDto(Watchlist watchlist) {
+        if (watchlist == null) return null;
+        
+        return dtoMapper.toWatchlistDto(watchlist, toContentDto(watchlist.getContent()));
+    }
+    
+    public List<WatchlistDto> toWatchlistDtoList(List<Watchlist> watchlists) {
+        List<Content> contents = watchlists.stream()
+                .map(Watchlist::getContent)
+                .collect(Collectors.toList());
+        Map<UUID, ContentDto> contentDtos = toContentDtoList(contents).stream()
+                .collect(Collectors.toMap(ContentDto::id, contentDto -> contentDto, (first, second) -> first));
+        
+        return watchlists.stream()
+                .map(watchlist -> dtoMapper.toWatchlistDto(watchlist, contentDtos.get(watchlist.getContentId())))
+                .collect(Collectors.toList());
+    }
+    
+    public Page<WatchlistDto> toWatchlistDtoPage(Page<Watchlist> watchlists) {
+        return new PageImpl<>(toWatchlistDtoList(watchlists.getContent()), watchlists.getPageable(), watchlists.getTotalElements());
+    }
+    
+    private Map<UUID, Integer> countEpisodes(List<Content> contents) {
+        Set<UUID> contentIds = contents.stream()
+                .map(Content::getId)
+                .collect(Collectors.toSet());
+        if (contentIds.isEmpty()) {
+            return Map.of();
+        }
+        
+        return episodeRepository.countByContentIds(contentIds).stream()
+                .collect(Collectors.toMap(
+                        EpisodeRepository.ContentEpisodeCount::getContentId,
+                        count -> count.getEpisodeCount().intValue()));
+    }
+}
\ No newline at end of file
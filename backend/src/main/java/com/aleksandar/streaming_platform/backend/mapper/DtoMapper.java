@@ -2,6 +2,7 @@ package com.aleksandar.streaming_platform.backend.mapper;
 
 import com.aleksandar.streaming_platform.backend.dto.*;
 import com.aleksandar.streaming_platform.backend.model.*;
+import com.aleksandar.streaming_platform.backend.repository.EpisodeRepository.EpisodeSummary;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -71,14 +72,10 @@ public class DtoMapper {
     
     
     // Content mappings
-    public ContentDto toContentDto(Content content) {
+    // Episode count is supplied by the caller so the episodes collection is never initialised
+    public ContentDto toContentDto(Content content, Integer episodeCount) {
         if (content == null) return null;
         
-        Integer episodeCount = null;
-        if (content.getEpisodes() != null) {
-            episodeCount = content.getEpisodes().size();
-        }
-        
         List<GenreDto> genres = null;
         if (content.getContentGenres() != null) {
             genres = content.getContentGenres().stream()
@@ -203,6 +200,19 @@ public class DtoMapper {
         );
     }
     
+    public EpisodeSummaryDto toEpisodeSummaryDto(EpisodeSummary episode) {
+        if (episode == null) return null;
+        
+        return new EpisodeSummaryDto(
+            episode.getId(),
+            episode.getSeasonNumber(),
+            episode.getEpisodeNumber(),
+            episode.getTitle(),
+            episode.getDuration(),
+            episode.getThumbnailUrl()
+        );
+    }
+    
     public Episode toEpisodeEntity(CreateEpisodeDto createEpisodeDto) {
         if (createEpisodeDto == null) return null;
         
@@ -237,7 +247,7 @@ public class DtoMapper {
     }
     
     // Watchlist mappings
-    public WatchlistDto toWatchlistDto(Watchlist watchlist) {
+    public WatchlistDto toWatchlistDto(Watchlist watchlist, ContentDto contentDto) {
         if (watchlist == null) return null;
         
         return new WatchlistDto(
@@ -245,7 +255,47 @@ public class DtoMapper {
             watchlist.getContentId(),
             watchlist.getAddedAt(),
             toUserDto(watchlist.getUser()),
-            toContentDto(watchlist.getContent())
+            contentDto
+        );
+    }
+    
+    // Media package mappings
+    public MediaPackageDto toMediaPackageDto(MediaPackage mediaPackage) {
+        if (mediaPackage == null) return null;
+        
+        String manifestUrl = mediaPackage.getStatus() == MediaPackageStatus.READY
+                ? "/api/v1/stream/hls/" + mediaPackage.getId() + "/index.m3u8"
+                : null;
+        
+        return new MediaPackageDto(
+            mediaPackage.getId(),
+            mediaPackage.getContent() != null ? mediaPackage.getContent().getId() : null,
+            mediaPackage.getEpisode() != null ? mediaPackage.getEpisode().getId() : null,
+            mediaPackage.getStatus().name(),
+            mediaPackage.getSegmentDuration(),
+            mediaPackage.getSegmentCount(),
+            mediaPackage.getTotalDuration(),
+            manifestUrl,
+            mediaPackage.getErrorMessage(),
+            mediaPackage.getCreatedAt(),
+            mediaPackage.getCompletedAt()
+        );
+    }
+    
+    // Media upload mappings
+    public MediaUploadDto toMediaUploadDto(MediaUpload mediaUpload) {
+        if (mediaUpload == null) return null;
+        
+        return new MediaUploadDto(
+            mediaUpload.getId(),
+            mediaUpload.getContent() != null ? mediaUpload.getContent().getId() : null,
+            mediaUpload.getEpisode() != null ? mediaUpload.getEpisode().getId() : null,
+            mediaUpload.getFileName(),
+            mediaUpload.getUploadLength(),
+            mediaUpload.getUploadOffset(),
+            mediaUpload.isCompleted(),
+            mediaUpload.getCreatedAt(),
+            mediaUpload.getCompletedAt()
         );
     }
     
@@ -254,10 +304,6 @@ public class DtoMapper {
         return users.stream().map(this::toUserDto).collect(Collectors.toList());
     }
     
-    public List<ContentDto> toContentDtoList(List<Content> contents) {
-        return contents.stream().map(this::toContentDto).collect(Collectors.toList());
-    }
-    
     public List<EpisodeDto> toEpisodeDtoList(List<Episode> episodes) {
         return episodes.stream().map(this::toEpisodeDto).collect(Collectors.toList());
     }
@@ -273,8 +319,4 @@ public class DtoMapper {
     public List<UserRoleDto> toUserRoleDtoList(List<UserRole> userRoles) {
         return userRoles.stream().map(this::toUserRoleDto).collect(Collectors.toList());
     }
-    
-    public List<WatchlistDto> toWatchlistDtoList(List<Watchlist> watchlists) {
-        return watchlists.stream().map(this::toWatchlistDto).collect(Collectors.toList());
-    }
 }
\ No newline at end of file
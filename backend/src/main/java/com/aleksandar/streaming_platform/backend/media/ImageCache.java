@@ -0,0 +1,163 @@
+package com.aleksandar.streaming_platform.backend.media;
+
+import com.aleksandar.streaming_platform.backend.event.ContentChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded directory of rendered images with least-recently-used eviction.
+ * Recency is tracked in memory and rebuilt from file modification times on start-up.
+ * Files are written under a temporary name and moved into place, so a reader
+ * never sees a partially written image. Cached files are opened while holding the
+ * cache lock, so a concurrent eviction cannot delete them between lookup and read.
+ */
+@Component
+public class ImageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageCache.class);
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // File name to size, in access order
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public ImageCache(@Value("${media.images.cache-directory:media/image-cache}") String directory,
+                      @Value("${media.images.cache-max-size:512MB}") DataSize maxSize) {
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+
+        entries.clear();
+        totalBytes = 0;
+        files.sort(Comparator.comparing(ImageCache::lastModified));
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(TEMPORARY_SUFFIX)) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            long size = Files.size(file);
+            entries.put(name, size);
+            totalBytes += size;
+        }
+        evictOverflow();
+        logger.info("Loaded {} cached images ({} bytes)", entries.size(), totalBytes);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onContentChanged(ContentChangedEvent event) {
+        String prefix = event.contentId() + "_";
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getKey().startsWith(prefix)) {
+                iterator.remove();
+                delete(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the cached image for the key, already opened, or null when it is not cached
+     */
+    public synchronized Resource open(String key) {
+        Long size = entries.get(key);
+        if (size == null) {
+            return null;
+        }
+
+        InputStream image;
+        try {
+            image = Files.newInputStream(directory.resolve(key));
+        } catch (IOException e) {
+            // Removed from the directory behind the cache's back, render it again
+            entries.remove(key);
+            totalBytes -= size;
+            return null;
+        }
+        return new InputStreamResource(image, key) {
+            @Override
+            public long contentLength() {
+                return size;
+            }
+        };
+    }
+
+    public void put(String key, byte[] image) {
+        Path file = directory.resolve(key);
+        try {
+            Path temporary = Files.createTempFile(directory, key, TEMPORARY_SUFFIX);
+            Files.write(temporary, image);
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not cache image " + key, e);
+        }
+
+        synchronized (this) {
+            Long previous = entries.put(key, (long) image.length);
+            totalBytes += image.length - (previous != null ? previous : 0);
+            evictOverflow();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        // Always keep the newest entry, even if it alone exceeds the limit
+        while (totalBytes > maxBytes && entries.size() > 1 && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            delete(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private void delete(String key, long size) {
+        totalBytes -= size;
+        try {
+            Files.deleteIfExists(directory.resolve(key));
+        } catch (IOException e) {
+            logger.warn("Could not delete cached image {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.aleksandar.streaming_platform.backend.media;
+
+import java.util.UUID;
+
+/**
+ * One resized rendition of a content thumbnail. The version is the content's
+ * last modification time, so every edit yields new keys and tags.
+ */
+public record ImageVariant(UUID contentId, int width, long version, String sourceLocation) {
+
+    public String cacheKey() {
+        return contentId + "_" + width + "_" + version + ".jpg";
+    }
+
+    public String etag() {
+        return "\"" + contentId + "-" + width + "-" + Long.toHexString(version) + "\"";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.aleksandar.streaming_platform.backend.media;
+
+import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
+import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * Maps stored media locations to files below the configured storage root.
+ * Locations are either absolute http(s) URLs of media hosted elsewhere or paths
+ * relative to the root; a relative path that resolves outside the root, also
+ * through a symbolic link, is treated as missing.
+ */
+@Component
+public class MediaStorage {
+
+    private final Path root;
+
+    public MediaStorage(@Value("${media.storage.root:media}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+    }
+
+    public boolean isExternal(String location) {
+        return location.startsWith("http://") || location.startsWith("https://");
+    }
+
+    /**
+     * Returns the regular file stored at the given location
+     */
+    public Path resolve(String location) {
+        try {
+            Path file = root.resolve(location.replaceFirst("^/+", "")).normalize().toRealPath();
+            if (file.startsWith(root.toRealPath()) && Files.isRegularFile(file)) {
+                return file;
+            }
+        } catch (InvalidPathException | IOException e) {
+            // Fall through, an unreadable location is reported like a missing one
+        }
+        throw new ResourceNotFoundException("Media file not found: " + location);
+    }
+
+    /**
+     * Returns where a file stored at the given relative location lives, whether or not it exists yet
+     */
+    public Path locate(String location) {
+        Path file = root.resolve(location).normalize();
+        if (!file.startsWith(root)) {
+            throw new BusinessLogicException("Media location is outside the storage root: " + location);
+        }
+        return file;
+    }
+}
\ No newline at end of file
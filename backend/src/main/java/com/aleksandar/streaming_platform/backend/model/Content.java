@@ -1,6 +1,7 @@
 package com.aleksandar.streaming_platform.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -8,7 +9,13 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "contents")
+@Table(name = "contents", indexes = {
+        @Index(name = "idx_contents_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_contents_content_type_id", columnList = "content_type_id"),
+        @Index(name = "idx_contents_language", columnList = "language"),
+        @Index(name = "idx_contents_release_date", columnList = "release_date")
+})
+@BatchSize(size = 50)
 public class Content {
     
     @Id
@@ -50,12 +57,14 @@ public class Content {
     private ContentType contentType;
     
     @OneToMany(mappedBy = "content", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<Episode> episodes;
     
     @OneToMany(mappedBy = "content", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Watchlist> watchlists;
     
     @OneToMany(mappedBy = "content", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<ContentGenre> contentGenres;
     
     @PrePersist
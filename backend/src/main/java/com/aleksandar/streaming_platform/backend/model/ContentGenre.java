@@ -5,7 +5,7 @@ import jakarta.persistence.*;
 import java.util.UUID;
 
 @Entity
-@Table(name = "content_genres")
+@Table(name = "content_genres", indexes = @Index(name = "idx_content_genres_genre_content", columnList = "genre_id, content_id"))
 @IdClass(ContentGenreId.class)
 public class ContentGenre {
     
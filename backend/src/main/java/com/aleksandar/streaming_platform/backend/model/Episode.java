@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "episodes")
+@Table(name = "episodes",
+        indexes = @Index(name = "idx_episodes_content_season_episode", columnList = "content_id, season_number, episode_number"))
 public class Episode {
     
     @Id
@@ -1,12 +1,15 @@
 package com.aleksandar.streaming_platform.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
 @Table(name = "genres")
+@BatchSize(size = 50)
 public class Genre {
     
     @Id
@@ -16,9 +19,19 @@ public class Genre {
     @Column(name = "name", nullable = false, unique = true)
     private String name;
     
+    // Nullable because rows created before this column existed have no value
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
     @OneToMany(mappedBy = "genre", fetch = FetchType.LAZY)
     private List<ContentGenre> contentGenres;
     
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+    
     public UUID getId() {
         return id;
     }
@@ -42,4 +55,12 @@ public class Genre {
     public void setContentGenres(List<ContentGenre> contentGenres) {
         this.contentGenres = contentGenres;
     }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
\ No newline at end of file
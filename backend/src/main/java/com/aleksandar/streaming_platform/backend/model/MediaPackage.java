@@ -0,0 +1,149 @@
+package com.aleksandar.streaming_platform.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "media_packages", indexes = {
+        @Index(name = "idx_media_packages_content_id", columnList = "content_id"),
+        @Index(name = "idx_media_packages_episode_id", columnList = "episode_id")
+})
+public class MediaPackage {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "content_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Content content;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "episode_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Episode episode;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private MediaPackageStatus status;
+    
+    @Column(name = "segment_duration", nullable = false)
+    private int segmentDuration;
+    
+    @Column(name = "segment_count")
+    private Integer segmentCount;
+    
+    @Column(name = "total_duration")
+    private Double totalDuration;
+    
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        heartbeatAt = createdAt;
+    }
+    
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public Content getContent() {
+        return content;
+    }
+    
+    public void setContent(Content content) {
+        this.content = content;
+    }
+    
+    public Episode getEpisode() {
+        return episode;
+    }
+    
+    public void setEpisode(Episode episode) {
+        this.episode = episode;
+    }
+    
+    public MediaPackageStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(MediaPackageStatus status) {
+        this.status = status;
+    }
+    
+    public int getSegmentDuration() {
+        return segmentDuration;
+    }
+    
+    public void setSegmentDuration(int segmentDuration) {
+        this.segmentDuration = segmentDuration;
+    }
+    
+    public Integer getSegmentCount() {
+        return segmentCount;
+    }
+    
+    public void setSegmentCount(Integer segmentCount) {
+        this.segmentCount = segmentCount;
+    }
+    
+    public Double getTotalDuration() {
+        return totalDuration;
+    }
+    
+    public void setTotalDuration(Double totalDuration) {
+        this.totalDuration = totalDuration;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+    
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+    
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+}
\ No newline at end of file
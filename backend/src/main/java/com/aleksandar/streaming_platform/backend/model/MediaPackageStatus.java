@@ -0,0 +1,8 @@
+package com.aleksandar.streaming_platform.backend.model;
+
+public enum MediaPackageStatus {
+    PENDING,
+    PROCESSING,
+    READY,
+    FAILED
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.aleksandar.streaming_platform.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "media_segments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_media_segments_package_sequence",
+                columnNames = {"package_id", "sequence_number"}))
+public class MediaSegment {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "package_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private MediaPackage mediaPackage;
+    
+    @Column(name = "sequence_number", nullable = false)
+    private int sequenceNumber;
+    
+    @Column(name = "duration", nullable = false)
+    private double duration;
+    
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+    
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+    
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public MediaPackage getMediaPackage() {
+        return mediaPackage;
+    }
+    
+    public void setMediaPackage(MediaPackage mediaPackage) {
+        this.mediaPackage = mediaPackage;
+    }
+    
+    public int getSequenceNumber() {
+        return sequenceNumber;
+    }
+    
+    public void setSequenceNumber(int sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+    
+    public double getDuration() {
+        return duration;
+    }
+    
+    public void setDuration(double duration) {
+        this.duration = duration;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+    
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+    
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.aleksandar.streaming_platform.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "media_uploads")
+public class MediaUpload {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "content_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Content content;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "episode_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Episode episode;
+    
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+    
+    @Column(name = "storage_path", nullable = false)
+    private String storagePath;
+    
+    @Column(name = "upload_length", nullable = false)
+    private long uploadLength;
+    
+    @Column(name = "upload_offset", nullable = false)
+    private long uploadOffset;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+    
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public Content getContent() {
+        return content;
+    }
+    
+    public void setContent(Content content) {
+        this.content = content;
+    }
+    
+    public Episode getEpisode() {
+        return episode;
+    }
+    
+    public void setEpisode(Episode episode) {
+        this.episode = episode;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+    
+    public String getStoragePath() {
+        return storagePath;
+    }
+    
+    public void setStoragePath(String storagePath) {
+        this.storagePath = storagePath;
+    }
+    
+    public long getUploadLength() {
+        return uploadLength;
+    }
+    
+    public void setUploadLength(long uploadLength) {
+        this.uploadLength = uploadLength;
+    }
+    
+    public long getUploadOffset() {
+        return uploadOffset;
+    }
+    
+    public void setUploadOffset(long uploadOffset) {
+        this.uploadOffset = uploadOffset;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
\ No newline at end of file
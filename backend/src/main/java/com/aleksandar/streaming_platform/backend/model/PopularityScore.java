@@ -0,0 +1,60 @@
+package com.aleksandar.streaming_platform.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "popularity_scores")
+@IdClass(PopularityScoreId.class)
+public class PopularityScore {
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subject_type", length = 20)
+    private PopularitySubject subjectType;
+    
+    @Id
+    @Column(name = "subject_id")
+    private UUID subjectId;
+    
+    // Time-decayed score as of scoredAt
+    @Column(name = "score", nullable = false)
+    private double score;
+    
+    @Column(name = "scored_at", nullable = false)
+    private LocalDateTime scoredAt;
+    
+    public PopularitySubject getSubjectType() {
+        return subjectType;
+    }
+    
+    public void setSubjectType(PopularitySubject subjectType) {
+        this.subjectType = subjectType;
+    }
+    
+    public UUID getSubjectId() {
+        return subjectId;
+    }
+    
+    public void setSubjectId(UUID subjectId) {
+        this.subjectId = subjectId;
+    }
+    
+    public double getScore() {
+        return score;
+    }
+    
+    public void setScore(double score) {
+        this.score = score;
+    }
+    
+    public LocalDateTime getScoredAt() {
+        return scoredAt;
+    }
+    
+    public void setScoredAt(LocalDateTime scoredAt) {
+        this.scoredAt = scoredAt;
+    }
+}
\ No newline at end of file
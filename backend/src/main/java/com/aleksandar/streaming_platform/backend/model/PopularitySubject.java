@@ -0,0 +1,7 @@
+package com.aleksandar.streaming_platform.backend.model;
+
+public enum PopularitySubject {
+    CONTENT,
+    GENRE,
+    CONTENT_TYPE
+}
\ No newline at end of file
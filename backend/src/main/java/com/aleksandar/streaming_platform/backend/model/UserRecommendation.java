@@ -0,0 +1,70 @@
+package com.aleksandar.streaming_platform.backend.model;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "user_recommendations",
+        indexes = @Index(name = "idx_user_recommendations_user_rank", columnList = "user_id, recommendation_rank"))
+@IdClass(UserRecommendationId.class)
+public class UserRecommendation {
+    
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+    
+    @Id
+    @Column(name = "content_id")
+    private UUID contentId;
+    
+    @Column(name = "recommendation_rank", nullable = false)
+    private int recommendationRank;
+    
+    @Column(name = "score", nullable = false)
+    private double score;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "content_id", insertable = false, updatable = false)
+    private Content content;
+    
+    public UUID getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+    
+    public UUID getContentId() {
+        return contentId;
+    }
+    
+    public void setContentId(UUID contentId) {
+        this.contentId = contentId;
+    }
+    
+    public int getRecommendationRank() {
+        return recommendationRank;
+    }
+    
+    public void setRecommendationRank(int recommendationRank) {
+        this.recommendationRank = recommendationRank;
+    }
+    
+    public double getScore() {
+        return score;
+    }
+    
+    public void setScore(double score) {
+        this.score = score;
+    }
+    
+    public Content getContent() {
+        return content;
+    }
+    
+    public void setContent(Content content) {
+        this.content = content;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.aleksandar.streaming_platform.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "watch_progress",
+        indexes = {
+                @Index(name = "idx_watch_progress_user_updated_at", columnList = "user_id, updated_at"),
+                @Index(name = "idx_watch_progress_user_content_updated_at", columnList = "user_id, content_id, updated_at"),
+                @Index(name = "idx_watch_progress_content_id", columnList = "content_id")
+        })
+@IdClass(WatchProgressId.class)
+public class WatchProgress {
+    
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+    
+    // The episode being watched, or the content itself for films
+    @Id
+    @Column(name = "media_id")
+    private UUID mediaId;
+    
+    @Column(name = "content_id", nullable = false)
+    private UUID contentId;
+    
+    @Column(name = "episode_id")
+    private UUID episodeId;
+    
+    @Column(name = "position_seconds", nullable = false)
+    private int positionSeconds;
+    
+    @Column(name = "duration_seconds")
+    private Integer durationSeconds;
+    
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public UUID getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+    
+    public UUID getMediaId() {
+        return mediaId;
+    }
+    
+    public void setMediaId(UUID mediaId) {
+        this.mediaId = mediaId;
+    }
+    
+    public UUID getContentId() {
+        return contentId;
+    }
+    
+    public void setContentId(UUID contentId) {
+        this.contentId = contentId;
+    }
+    
+    public UUID getEpisodeId() {
+        return episodeId;
+    }
+    
+    public void setEpisodeId(UUID episodeId) {
+        this.episodeId = episodeId;
+    }
+    
+    public int getPositionSeconds() {
+        return positionSeconds;
+    }
+    
+    public void setPositionSeconds(int positionSeconds) {
+        this.positionSeconds = positionSeconds;
+    }
+    
+    public Integer getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    public void setDurationSeconds(Integer durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+    
+    public boolean isCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
\ No newline at end of file
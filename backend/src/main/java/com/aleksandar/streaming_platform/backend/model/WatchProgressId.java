@@ -0,0 +1,7 @@
+package com.aleksandar.streaming_platform.backend.model;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+public record WatchProgressId(UUID userId, UUID mediaId) implements Serializable {
+}
\ No newline at end of file
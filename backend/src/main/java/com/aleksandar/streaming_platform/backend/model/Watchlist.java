@@ -6,7 +6,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "watchlists")
+@Table(name = "watchlists",
+        indexes = @Index(name = "idx_watchlists_user_added_at", columnList = "user_id, added_at, content_id"))
 @IdClass(WatchlistId.class)
 public class Watchlist {
     
@@ -0,0 +1,68 @@
+package com.aleksandar.streaming_platform.backend.pagination;
+
+import com.aleksandar.streaming_platform.backend.dto.CursorSliceDto;
+import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Position of the last row of a keyset page: its sort key plus its id as a tie-breaker.
+ * Clients receive it as an opaque URL-safe token and send it back to fetch the next
+ * page, which the database answers by seeking in the (sort key, id) index instead of
+ * skipping {@code OFFSET} rows.
+ */
+public record SeekCursor(LocalDateTime sortKey, UUID id) {
+    
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    
+    private static final String SEPARATOR = "|";
+    
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodes a token produced by {@link #encode()}; a missing token means the first page
+     */
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BusinessLogicException("Invalid cursor");
+            }
+            return new SeekCursor(LocalDateTime.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessLogicException("Invalid cursor");
+        }
+    }
+    
+    public static int clampSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+    
+    /**
+     * Wraps already mapped rows of a slice, pointing the next cursor at its last entity
+     */
+    public static <E, D> CursorSliceDto<D> toSliceDto(Slice<E> slice, List<D> content, Function<E, SeekCursor> positionOf) {
+        String nextCursor = null;
+        if (slice.hasNext() && slice.hasContent()) {
+            List<E> rows = slice.getContent();
+            nextCursor = positionOf.apply(rows.get(rows.size() - 1)).encode();
+        }
+        return new CursorSliceDto<>(content, slice.getSize(), slice.hasNext(), nextCursor);
+    }
+}
\ No newline at end of file
@@ -1,12 +1,18 @@
 package com.aleksandar.streaming_platform.backend.repository;
 
+import com.aleksandar.streaming_platform.backend.model.Content;
 import com.aleksandar.streaming_platform.backend.model.ContentGenre;
 import com.aleksandar.streaming_platform.backend.model.ContentGenreId;
+import com.aleksandar.streaming_platform.backend.model.Genre;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,4 +38,42 @@ public interface ContentGenreRepository extends JpaRepository<ContentGenre, Cont
     
     @Query("SELECT COUNT(cg) FROM ContentGenre cg WHERE cg.genreId = :genreId")
     Long countByGenreId(@Param("genreId") UUID genreId);
+    
+    @Query("SELECT cg.genreId FROM ContentGenre cg WHERE cg.contentId = :contentId")
+    List<UUID> findGenreIdsByContentId(@Param("contentId") UUID contentId);
+    
+    @Query("SELECT cg.contentId FROM ContentGenre cg WHERE cg.genreId = :genreId")
+    List<UUID> findContentIdsByGenreId(@Param("genreId") UUID genreId);
+    
+    @Query("SELECT cg.contentId AS contentId, cg.genreId AS genreId FROM ContentGenre cg")
+    List<ContentGenrePair> findAllPairs();
+    
+    @Query("SELECT cg.contentId AS contentId, cg.genreId AS genreId FROM ContentGenre cg WHERE cg.contentId IN :contentIds")
+    List<ContentGenrePair> findPairsByContentIdIn(@Param("contentIds") Collection<UUID> contentIds);
+    
+    @Modifying
+    @Query("DELETE FROM ContentGenre cg WHERE cg.contentId = :contentId")
+    int deleteAllByContentId(@Param("contentId") UUID contentId);
+    
+    @Modifying
+    @Query("DELETE FROM ContentGenre cg WHERE cg.genreId = :genreId")
+    int deleteAllByGenreId(@Param("genreId") UUID genreId);
+    
+    @Modifying
+    @Query("DELETE FROM ContentGenre cg WHERE cg.contentId = :contentId AND cg.genreId NOT IN :genreIds")
+    int deleteByContentIdAndGenreIdNotIn(@Param("contentId") UUID contentId, @Param("genreIds") Collection<UUID> genreIds);
+    
+    @Query(value = "SELECT c FROM Content c JOIN c.contentGenres cg LEFT JOIN FETCH c.contentType WHERE cg.genreId = :genreId",
+            countQuery = "SELECT COUNT(cg) FROM ContentGenre cg WHERE cg.genreId = :genreId")
+    Page<Content> findContentByGenreId(@Param("genreId") UUID genreId, Pageable pageable);
+    
+    @Query(value = "SELECT g FROM Genre g JOIN g.contentGenres cg WHERE cg.contentId = :contentId",
+            countQuery = "SELECT COUNT(cg) FROM ContentGenre cg WHERE cg.contentId = :contentId")
+    Page<Genre> findGenresByContentId(@Param("contentId") UUID contentId, Pageable pageable);
+    
+    interface ContentGenrePair {
+        UUID getContentId();
+        
+        UUID getGenreId();
+    }
 }
\ No newline at end of file
@@ -1,48 +1,197 @@
 package com.aleksandar.streaming_platform.backend.repository;
 
+import com.aleksandar.streaming_platform.backend.dto.ContentSuggestionDto;
 import com.aleksandar.streaming_platform.backend.model.Content;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContentRepository extends JpaRepository<Content, UUID> {
     
+    @Override
+    @EntityGraph(attributePaths = "contentType")
+    Page<Content> findAll(Pageable pageable);
+    
+    @EntityGraph(attributePaths = "contentType")
     Page<Content> findByIsAvailable(boolean isAvailable, Pageable pageable);
     
+    @EntityGraph(attributePaths = "contentType")
     Page<Content> findByContentTypeId(UUID contentTypeId, Pageable pageable);
     
+    @EntityGraph(attributePaths = "contentType")
     @Query("SELECT c FROM Content c WHERE c.contentType.name = :typeName")
     Page<Content> findByContentTypeName(@Param("typeName") String typeName, Pageable pageable);
     
+    @EntityGraph(attributePaths = "contentType")
     @Query("SELECT c FROM Content c WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%'))")
     Page<Content> findByTitleContainingIgnoreCase(@Param("title") String title, Pageable pageable);
     
+    @EntityGraph(attributePaths = "contentType")
     Page<Content> findByLanguage(String language, Pageable pageable);
     
+    @EntityGraph(attributePaths = "contentType")
     Page<Content> findByReleaseDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
     
+    @EntityGraph(attributePaths = "contentType")
     Page<Content> findByReleaseDateAfter(LocalDate date, Pageable pageable);
     
+    @EntityGraph(attributePaths = "contentType")
     @Query("SELECT DISTINCT c FROM Content c JOIN c.contentGenres cg WHERE LOWER(cg.genre.name) = LOWER(:genreName)")
     Page<Content> findByGenreName(@Param("genreName") String genreName, Pageable pageable);
 
+    @EntityGraph(attributePaths = "contentType")
     @Query("SELECT c FROM Content c WHERE c.isAvailable = true")
     Page<Content> findAvailableContentOrderByReleaseDateDesc(Pageable pageable);
     
     @Query("SELECT COUNT(c) FROM Content c WHERE c.contentType.id = :contentTypeId")
     Long countByContentTypeId(@Param("contentTypeId") UUID contentTypeId);
     
+    @EntityGraph(attributePaths = "contentType")
     @Query("SELECT DISTINCT c FROM Content c JOIN c.contentGenres cg " +
             "WHERE (:typeName IS NULL OR LOWER(c.contentType.name) = LOWER(:typeName)) " +
             "AND (:genreName IS NULL OR LOWER(cg.genre.name) = LOWER(:genreName))")
     Page<Content> findByTypeAndGenre(@Param("typeName") String typeName, 
                                     @Param("genreName") String genreName, 
                                     Pageable pageable);
+    
+    @EntityGraph(attributePaths = "contentType")
+    List<Content> findByIdIn(Collection<UUID> ids);
+    
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description FROM Content c " +
+            "WHERE c.id > :after ORDER BY c.id")
+    List<ContentSearchDocument> findSearchDocumentsAfter(@Param("after") UUID after, Pageable pageable);
+    
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description FROM Content c WHERE c.id = :id")
+    Optional<ContentSearchDocument> findSearchDocumentById(@Param("id") UUID id);
+    
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description FROM Content c WHERE c.id IN :ids")
+    List<ContentSearchDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    @Query("SELECT new com.aleksandar.streaming_platform.backend.dto.ContentSuggestionDto(c.id, c.title) FROM Content c " +
+            "WHERE c.id > :after ORDER BY c.id")
+    List<ContentSuggestionDto> findSuggestionsAfter(@Param("after") UUID after, Pageable pageable);
+    
+    @Query("SELECT new com.aleksandar.streaming_platform.backend.dto.ContentSuggestionDto(c.id, c.title) FROM Content c WHERE c.id = :id")
+    Optional<ContentSuggestionDto> findSuggestionById(@Param("id") UUID id);
+    
+    @Query("SELECT new com.aleksandar.streaming_platform.backend.dto.ContentSuggestionDto(c.id, c.title) FROM Content c WHERE c.id IN :ids")
+    List<ContentSuggestionDto> findSuggestionsByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    @Query("SELECT c.contentType.id FROM Content c WHERE c.id = :id")
+    Optional<UUID> findContentTypeIdById(@Param("id") UUID id);
+    
+    @Query("SELECT c.videoUrl FROM Content c WHERE c.id = :id")
+    Optional<String> findVideoUrlById(@Param("id") UUID id);
+    
+    @Query("SELECT c.thumbnailUrl AS thumbnailUrl, c.updatedAt AS updatedAt FROM Content c WHERE c.id = :id")
+    Optional<ContentThumbnail> findThumbnailById(@Param("id") UUID id);
+    
+    @Query("SELECT c.updatedAt AS updatedAt, ct.updatedAt AS contentTypeUpdatedAt, " +
+            "(SELECT MAX(g.updatedAt) FROM ContentGenre cg JOIN cg.genre g WHERE cg.contentId = c.id) AS genresUpdatedAt, " +
+            "(SELECT COUNT(e) FROM Episode e WHERE e.content.id = c.id) AS episodeCount " +
+            "FROM Content c LEFT JOIN c.contentType ct WHERE c.id = :id")
+    Optional<ContentVersion> findVersionById(@Param("id") UUID id);
+    
+    @Modifying
+    @Query("UPDATE Content c SET c.updatedAt = :updatedAt WHERE c.id = :id")
+    int touch(@Param("id") UUID id, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying
+    @Query("UPDATE Content c SET c.updatedAt = :updatedAt WHERE c.id IN :ids")
+    int touchAll(@Param("ids") Collection<UUID> ids, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Query("SELECT c.id FROM Content c WHERE c.id IN :ids")
+    List<UUID> findIdsByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    @Query("SELECT c.id FROM Content c WHERE c.isAvailable = true")
+    List<UUID> findAvailableIds();
+    
+    @Query("SELECT c.id FROM Content c WHERE c.isAvailable = false")
+    List<UUID> findUnavailableIds();
+    
+    @Query("SELECT c.isAvailable FROM Content c WHERE c.id = :id")
+    Optional<Boolean> findIsAvailableById(@Param("id") UUID id);
+    
+    @Query("SELECT c.id AS id, c.title AS title, c.thumbnailUrl AS thumbnailUrl FROM Content c " +
+            "WHERE c.id IN :ids AND c.isAvailable = true")
+    List<ContentCard> findAvailableCardsByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    // Read through a server-side cursor; the caller must hold a transaction and close the stream
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Content c LEFT JOIN FETCH c.contentType ORDER BY c.id")
+    Stream<Content> streamAllOrderById();
+    
+    @EntityGraph(attributePaths = "contentType")
+    @Query("SELECT c FROM Content c ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<Content> findFirstSliceOrderByCreatedAtDesc(Pageable pageable);
+    
+    @EntityGraph(attributePaths = "contentType")
+    @Query("SELECT c FROM Content c WHERE (c.createdAt, c.id) < (:createdAt, :id) ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<Content> findSliceCreatedBefore(@Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") UUID id,
+                                          Pageable pageable);
+    
+    @EntityGraph(attributePaths = "contentType")
+    @Query("SELECT c FROM Content c WHERE c.isAvailable = true ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<Content> findFirstAvailableSliceOrderByCreatedAtDesc(Pageable pageable);
+    
+    @EntityGraph(attributePaths = "contentType")
+    @Query("SELECT c FROM Content c WHERE c.isAvailable = true AND (c.createdAt, c.id) < (:createdAt, :id) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<Content> findAvailableSliceCreatedBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") UUID id,
+                                                   Pageable pageable);
+    
+    interface ContentSearchDocument {
+        UUID getId();
+        
+        String getTitle();
+        
+        String getDescription();
+    }
+    
+    interface ContentVersion {
+        LocalDateTime getUpdatedAt();
+        
+        LocalDateTime getContentTypeUpdatedAt();
+        
+        LocalDateTime getGenresUpdatedAt();
+        
+        Long getEpisodeCount();
+    }
+    
+    interface ContentCard {
+        UUID getId();
+        
+        String getTitle();
+        
+        String getThumbnailUrl();
+    }
+    
+    interface ContentThumbnail {
+        String getThumbnailUrl();
+        
+        LocalDateTime getUpdatedAt();
+    }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,4 +24,7 @@ public interface ContentTypeRepository extends JpaRepository<ContentType, UUID>
     
     @Query("SELECT ct FROM ContentType ct")
     Page<ContentType> findAllOrderByName(Pageable pageable);
+    
+    @Query("SELECT ct.id FROM ContentType ct")
+    List<UUID> findAllIds();
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,15 +27,73 @@ public interface EpisodeRepository extends JpaRepository<Episode, UUID> {
     @Query("SELECT DISTINCT e.seasonNumber FROM Episode e WHERE e.content.id = :contentId")
     Page<Integer> findDistinctSeasonNumbersByContentId(@Param("contentId") UUID contentId, Pageable pageable);
     
-    @Query("SELECT e FROM Episode e WHERE e.content.id = :contentId AND e.seasonNumber = :seasonNumber ORDER BY e.episodeNumber")
-    List<Episode> findEpisodesByContentIdAndSeasonNumberOrderByEpisodeNumber(@Param("contentId") UUID contentId, @Param("seasonNumber") Integer seasonNumber);
+    @Query("SELECT e FROM Episode e JOIN FETCH e.content WHERE e.content.id = :contentId " +
+            "AND (e.seasonNumber, e.episodeNumber) > (:seasonNumber, :episodeNumber) " +
+            "ORDER BY e.seasonNumber, e.episodeNumber")
+    List<Episode> findEpisodesAfter(@Param("contentId") UUID contentId,
+                                    @Param("seasonNumber") Integer seasonNumber,
+                                    @Param("episodeNumber") Integer episodeNumber,
+                                    Pageable pageable);
+    
+    @Query("SELECT e FROM Episode e JOIN FETCH e.content WHERE e.content.id = :contentId " +
+            "AND (e.seasonNumber, e.episodeNumber) < (:seasonNumber, :episodeNumber) " +
+            "ORDER BY e.seasonNumber DESC, e.episodeNumber DESC")
+    List<Episode> findEpisodesBefore(@Param("contentId") UUID contentId,
+                                     @Param("seasonNumber") Integer seasonNumber,
+                                     @Param("episodeNumber") Integer episodeNumber,
+                                     Pageable pageable);
     
     @Query("SELECT COUNT(e) FROM Episode e WHERE e.content.id = :contentId")
     Long countByContentId(@Param("contentId") UUID contentId);
     
+    @Query("SELECT e.content.id AS contentId, COUNT(e) AS episodeCount FROM Episode e " +
+            "WHERE e.content.id IN :contentIds GROUP BY e.content.id")
+    List<ContentEpisodeCount> countByContentIds(@Param("contentIds") Collection<UUID> contentIds);
+    
     @Query("SELECT COUNT(e) FROM Episode e WHERE e.content.id = :contentId AND e.seasonNumber = :seasonNumber")
     Long countByContentIdAndSeasonNumber(@Param("contentId") UUID contentId, @Param("seasonNumber") Integer seasonNumber);
     
     @Query("SELECT DISTINCT e.seasonNumber FROM Episode e WHERE e.content.id = :contentId ORDER BY e.seasonNumber")
     List<Integer> findDistinctSeasonNumbersByContentIdList(@Param("contentId") UUID contentId);
+    
+    @Query("SELECT e.videoUrl FROM Episode e WHERE e.id = :id")
+    Optional<String> findVideoUrlById(@Param("id") UUID id);
+    
+    @Query("SELECT e.content.id FROM Episode e WHERE e.id = :id")
+    Optional<UUID> findContentIdById(@Param("id") UUID id);
+    
+    @Query("SELECT e.id FROM Episode e WHERE e.content.id = :contentId")
+    List<UUID> findIdsByContentId(@Param("contentId") UUID contentId);
+    
+    @Query("SELECT e.id AS id, e.content.id AS contentId, e.seasonNumber AS seasonNumber, e.episodeNumber AS episodeNumber, " +
+            "e.title AS title, e.duration AS duration, e.thumbnailUrl AS thumbnailUrl FROM Episode e " +
+            "WHERE e.content.id IN :contentIds ORDER BY e.content.id, e.seasonNumber, e.episodeNumber")
+    List<EpisodeSummary> findSummariesByContentIdIn(@Param("contentIds") Collection<UUID> contentIds);
+    
+    @Query("SELECT e.id AS id, e.content.id AS contentId, e.seasonNumber AS seasonNumber, e.episodeNumber AS episodeNumber, " +
+            "e.title AS title, e.duration AS duration, e.thumbnailUrl AS thumbnailUrl FROM Episode e " +
+            "WHERE e.content.id = :contentId ORDER BY e.seasonNumber, e.episodeNumber")
+    List<EpisodeSummary> findSummariesByContentId(@Param("contentId") UUID contentId);
+    
+    interface EpisodeSummary {
+        UUID getId();
+        
+        UUID getContentId();
+        
+        Integer getSeasonNumber();
+        
+        Integer getEpisodeNumber();
+        
+        String getTitle();
+        
+        String getDuration();
+        
+        String getThumbnailUrl();
+    }
+    
+    interface ContentEpisodeCount {
+        UUID getContentId();
+        
+        Long getEpisodeCount();
+    }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,4 +24,7 @@ public interface GenreRepository extends JpaRepository<Genre, UUID> {
     
     @Query("SELECT g FROM Genre g")
     Page<Genre> findAllOrderByName(Pageable pageable);
+    
+    @Query("SELECT g.id FROM Genre g")
+    List<UUID> findAllIds();
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.aleksandar.streaming_platform.backend.repository;
+
+import com.aleksandar.streaming_platform.backend.model.MediaPackage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MediaPackageRepository extends JpaRepository<MediaPackage, UUID> {
+    
+    @Query("SELECT p.id FROM MediaPackage p " +
+            "WHERE (p.content.id = :mediaId OR p.episode.id = :mediaId) " +
+            "AND p.status = com.aleksandar.streaming_platform.backend.model.MediaPackageStatus.READY " +
+            "ORDER BY p.completedAt DESC")
+    List<UUID> findReadyPackageIds(@Param("mediaId") UUID mediaId, Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE MediaPackage p SET p.heartbeatAt = :now WHERE p.id IN :ids")
+    int renewHeartbeats(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+    
+    // Only packages whose owning node stopped renewing their heartbeat, never ones still running elsewhere
+    @Modifying
+    @Query("UPDATE MediaPackage p " +
+            "SET p.status = com.aleksandar.streaming_platform.backend.model.MediaPackageStatus.FAILED, " +
+            "p.errorMessage = :errorMessage, p.completedAt = :now " +
+            "WHERE p.status IN (com.aleksandar.streaming_platform.backend.model.MediaPackageStatus.PENDING, " +
+            "com.aleksandar.streaming_platform.backend.model.MediaPackageStatus.PROCESSING) " +
+            "AND p.heartbeatAt < :before")
+    int failAbandonedBefore(@Param("before") LocalDateTime before,
+                            @Param("now") LocalDateTime now,
+                            @Param("errorMessage") String errorMessage);
+}
\ No newline at end of file
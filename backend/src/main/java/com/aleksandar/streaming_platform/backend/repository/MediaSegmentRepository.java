@@ -0,0 +1,16 @@
+package com.aleksandar.streaming_platform.backend.repository;
+
+import com.aleksandar.streaming_platform.backend.model.MediaSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface MediaSegmentRepository extends JpaRepository<MediaSegment, UUID> {
+    
+    @Query("SELECT COUNT(s) > 0 FROM MediaSegment s WHERE s.mediaPackage.id = :packageId AND s.fileName = :fileName")
+    boolean existsByPackageIdAndFileName(@Param("packageId") UUID packageId, @Param("fileName") String fileName);
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.aleksandar.streaming_platform.backend.repository;
+
+import com.aleksandar.streaming_platform.backend.model.MediaUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MediaUploadRepository extends JpaRepository<MediaUpload, UUID> {
+    
+    @Query("SELECT u FROM MediaUpload u WHERE u.completedAt IS NULL AND u.updatedAt < :before")
+    List<MediaUpload> findAbandonedBefore(@Param("before") LocalDateTime before);
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.aleksandar.streaming_platform.backend.repository;
+
+import com.aleksandar.streaming_platform.backend.model.PopularityScore;
+import com.aleksandar.streaming_platform.backend.model.PopularityScoreId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PopularityScoreRepository extends JpaRepository<PopularityScore, PopularityScoreId> {
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.aleksandar.streaming_platform.backend.repository;
+
+import com.aleksandar.streaming_platform.backend.model.Content;
+import com.aleksandar.streaming_platform.backend.model.UserRecommendation;
+import com.aleksandar.streaming_platform.backend.model.UserRecommendationId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UserRecommendationRepository extends JpaRepository<UserRecommendation, UserRecommendationId> {
+    
+    @Query(value = "SELECT c FROM UserRecommendation r JOIN r.content c LEFT JOIN FETCH c.contentType " +
+            "WHERE r.userId = :userId AND c.isAvailable = true ORDER BY r.recommendationRank",
+            countQuery = "SELECT COUNT(r) FROM UserRecommendation r JOIN r.content c " +
+                    "WHERE r.userId = :userId AND c.isAvailable = true")
+    Page<Content> findRecommendedContentByUserId(@Param("userId") UUID userId, Pageable pageable);
+}
\ No newline at end of file
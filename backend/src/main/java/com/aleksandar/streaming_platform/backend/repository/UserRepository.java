@@ -4,11 +4,14 @@ import com.aleksandar.streaming_platform.backend.model.User;
 import com.aleksandar.streaming_platform.backend.model.UserRoleType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -35,4 +38,14 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     
     @Query("SELECT COUNT(u) FROM User u WHERE u.userRole.name = :roleType")
     Long countByUserRoleType(@Param("roleType") UserRoleType roleType);
+    
+    @EntityGraph(attributePaths = "userRole")
+    @Query("SELECT u FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<User> findFirstSliceOrderByCreatedAtDesc(Pageable pageable);
+    
+    @EntityGraph(attributePaths = "userRole")
+    @Query("SELECT u FROM User u WHERE (u.createdAt, u.id) < (:createdAt, :id) ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<User> findSliceCreatedBefore(@Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") UUID id,
+                                       Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.aleksandar.streaming_platform.backend.repository;
+
+import com.aleksandar.streaming_platform.backend.model.WatchProgress;
+import com.aleksandar.streaming_platform.backend.model.WatchProgressId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WatchProgressRepository extends JpaRepository<WatchProgress, WatchProgressId> {
+    
+    List<WatchProgress> findByUserIdAndContentId(UUID userId, UUID contentId);
+    
+    // The most recent entry of each content the user has watched, newest first
+    @Query("SELECT wp FROM WatchProgress wp WHERE wp.userId = :userId AND wp.updatedAt = " +
+            "(SELECT MAX(latest.updatedAt) FROM WatchProgress latest " +
+            "WHERE latest.userId = wp.userId AND latest.contentId = wp.contentId) " +
+            "ORDER BY wp.updatedAt DESC")
+    List<WatchProgress> findLatestPerContentByUserId(@Param("userId") UUID userId, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM WatchProgress wp WHERE wp.contentId = :contentId")
+    int deleteAllByContentId(@Param("contentId") UUID contentId);
+    
+    // Filtered by content as well so the delete can use the content index
+    @Modifying
+    @Query("DELETE FROM WatchProgress wp WHERE wp.contentId = :contentId AND wp.episodeId = :episodeId")
+    int deleteAllByContentIdAndEpisodeId(@Param("contentId") UUID contentId, @Param("episodeId") UUID episodeId);
+    
+    @Modifying
+    @Query("DELETE FROM WatchProgress wp WHERE wp.userId = :userId")
+    int deleteAllByUserId(@Param("userId") UUID userId);
+}
\ No newline at end of file
@@ -4,11 +4,13 @@ import com.aleksandar.streaming_platform.backend.model.Watchlist;
 import com.aleksandar.streaming_platform.backend.model.WatchlistId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -40,4 +42,43 @@ public interface WatchlistRepository extends JpaRepository<Watchlist, WatchlistI
     
     @Query("SELECT w FROM Watchlist w WHERE w.userId = :userId AND EXISTS (SELECT c FROM Content c WHERE c.id = w.contentId AND c.contentType.name = :typeName)")
     Page<Watchlist> findByUserIdAndContentTypeName(@Param("userId") UUID userId, @Param("typeName") String typeName, Pageable pageable);
+    
+    @Query("SELECT w.contentId AS subjectId, COUNT(w) AS watchlistCount FROM Watchlist w GROUP BY w.contentId")
+    List<WatchlistCount> countGroupedByContent();
+    
+    @Query("SELECT cg.genreId AS subjectId, COUNT(w) AS watchlistCount FROM Watchlist w, ContentGenre cg " +
+            "WHERE cg.contentId = w.contentId GROUP BY cg.genreId")
+    List<WatchlistCount> countGroupedByGenre();
+    
+    @Query("SELECT c.contentType.id AS subjectId, COUNT(w) AS watchlistCount FROM Watchlist w, Content c " +
+            "WHERE c.id = w.contentId GROUP BY c.contentType.id")
+    List<WatchlistCount> countGroupedByContentType();
+    
+    @Query("SELECT w.userId AS userId, w.contentId AS contentId FROM Watchlist w")
+    List<WatchlistEntry> findAllEntries();
+    
+    @Query("SELECT w.contentId FROM Watchlist w WHERE w.userId = :userId")
+    List<UUID> findContentIdsByUserId(@Param("userId") UUID userId);
+    
+    @Query("SELECT w FROM Watchlist w WHERE w.userId = :userId ORDER BY w.addedAt DESC, w.contentId DESC")
+    Slice<Watchlist> findFirstSliceByUserId(@Param("userId") UUID userId, Pageable pageable);
+    
+    @Query("SELECT w FROM Watchlist w WHERE w.userId = :userId AND (w.addedAt, w.contentId) < (:addedAt, :contentId) " +
+            "ORDER BY w.addedAt DESC, w.contentId DESC")
+    Slice<Watchlist> findSliceByUserIdAddedBefore(@Param("userId") UUID userId,
+                                                  @Param("addedAt") LocalDateTime addedAt,
+                                                  @Param("contentId") UUID contentId,
+                                                  Pageable pageable);
+    
+    interface WatchlistCount {
+        UUID getSubjectId();
+        
+        Long getWatchlistCount();
+    }
+    
+    interface WatchlistEntry {
+        UUID getUserId();
+        
+        UUID getContentId();
+    }
 }
\ No newline at end of file
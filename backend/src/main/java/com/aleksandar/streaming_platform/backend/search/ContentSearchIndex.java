@@ -0,0 +1,268 @@
+package com.aleksandar.streaming_platform.backend.search;
+
+import com.aleksandar.streaming_platform.backend.event.ContentChangedEvent;
+import com.aleksandar.streaming_platform.backend.event.ContentImportedEvent;
+import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
+import com.aleksandar.streaming_platform.backend.repository.ContentRepository.ContentSearchDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index over content titles and descriptions.
+ * Terms are kept in sorted maps so the last word of a query can be matched as a
+ * prefix (type-ahead); every other word must match a whole term. Title matches
+ * rank above description matches and exact terms rank above prefixes.
+ * The index is loaded once the application is ready and afterwards refreshed
+ * entry by entry from {@link ContentChangedEvent}s after the writing transaction commits.
+ * Contents changed while the load runs are skipped by it, since the event already
+ * indexed a state at least as fresh as the loaded batch.
+ */
+@Component
+public class ContentSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentSearchIndex.class);
+
+    private static final double TITLE_EXACT_WEIGHT = 4.0;
+    private static final double TITLE_PREFIX_WEIGHT = 2.0;
+    private static final double DESCRIPTION_EXACT_WEIGHT = 1.0;
+    private static final double DESCRIPTION_PREFIX_WEIGHT = 0.5;
+
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
+    private final ContentRepository contentRepository;
+    private final int loadBatchSize;
+
+    private final NavigableMap<String, Set<UUID>> titleTerms = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Set<UUID>> descriptionTerms = new ConcurrentSkipListMap<>();
+    private final Map<UUID, IndexedContent> documents = new ConcurrentHashMap<>();
+    private final Set<UUID> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    public ContentSearchIndex(ContentRepository contentRepository,
+                              @Value("${search.index.load-batch-size:1000}") int loadBatchSize) {
+        this.contentRepository = contentRepository;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    /**
+     * Loads every content in id order, one keyset batch at a time, so start-up
+     * memory stays bounded by the batch rather than by the catalogue size
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+        int indexed = 0;
+        UUID after = LOWEST_ID;
+
+        rebuilding = true;
+        try {
+            while (true) {
+                List<ContentSearchDocument> batch = contentRepository.findSearchDocumentsAfter(after, PageRequest.of(0, loadBatchSize));
+                batch.forEach(this::indexLoaded);
+                indexed += batch.size();
+
+                if (batch.size() < loadBatchSize) {
+                    break;
+                }
+                after = batch.get(batch.size() - 1).getId();
+            }
+        } finally {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+        }
+
+        ready = true;
+        logger.info("Indexed {} contents for search in {} ms", indexed, System.currentTimeMillis() - startTime);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        markChanged(List.of(event.contentId()));
+        contentRepository.findSearchDocumentById(event.contentId())
+                .ifPresentOrElse(
+                        document -> index(document.getId(), document.getTitle(), document.getDescription()),
+                        () -> remove(event.contentId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentImported(ContentImportedEvent event) {
+        markChanged(event.contentIds());
+        contentRepository.findSearchDocumentsByIdIn(event.contentIds())
+                .forEach(document -> index(document.getId(), document.getTitle(), document.getDescription()));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns a page of the ids of contents matching every word of the query, best match
+     * first. Only the best offset + page size matches are kept and sorted, so a short
+     * prefix matching much of the catalogue does not sort every match.
+     */
+    public Page<UUID> search(String query, Pageable pageable) {
+        List<String> terms = TextNormalizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        Map<UUID, Double> scores = null;
+        for (int i = 0; i < terms.size(); i++) {
+            boolean prefix = i == terms.size() - 1;
+            Map<UUID, Double> termScores = scoreTerm(terms.get(i), prefix);
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+
+            if (scores.isEmpty()) {
+                return Page.empty(pageable);
+            }
+        }
+
+        if (pageable.getOffset() >= scores.size()) {
+            return new PageImpl<>(List.of(), pageable, scores.size());
+        }
+        int wanted = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), scores.size());
+        List<UUID> top = top(scores, wanted);
+        return new PageImpl<>(top.subList((int) pageable.getOffset(), top.size()), pageable, scores.size());
+    }
+
+    public synchronized void index(UUID id, String title, String description) {
+        remove(id);
+
+        IndexedContent content = new IndexedContent(
+                TextNormalizer.normalize(title),
+                Set.copyOf(TextNormalizer.tokenize(title)),
+                Set.copyOf(TextNormalizer.tokenize(description)));
+        content.titleTerms().forEach(term -> addPosting(titleTerms, term, id));
+        content.descriptionTerms().forEach(term -> addPosting(descriptionTerms, term, id));
+        documents.put(id, content);
+    }
+
+    public synchronized void remove(UUID id) {
+        IndexedContent content = documents.remove(id);
+        if (content == null) {
+            return;
+        }
+
+        content.titleTerms().forEach(term -> removePosting(titleTerms, term, id));
+        content.descriptionTerms().forEach(term -> removePosting(descriptionTerms, term, id));
+    }
+
+    /**
+     * Keeps the best {@code limit} matches in a heap whose head is the worst kept one,
+     * costing O(matches · log limit) instead of sorting every match
+     */
+    private List<UUID> top(Map<UUID, Double> scores, int limit) {
+        Comparator<Map.Entry<UUID, Double>> ranking = Map.Entry.<UUID, Double>comparingByValue().reversed()
+                .thenComparing(entry -> sortTitle(entry.getKey()))
+                .thenComparing(Map.Entry::getKey);
+
+        PriorityQueue<Map.Entry<UUID, Double>> heap = new PriorityQueue<>(limit, ranking.reversed());
+        for (Map.Entry<UUID, Double> entry : scores.entrySet()) {
+            if (heap.size() < limit) {
+                heap.add(entry);
+            } else if (ranking.compare(entry, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        List<UUID> ids = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ids.add(heap.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    private void markChanged(Collection<UUID> ids) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(ids);
+        }
+    }
+
+    /**
+     * Indexes a document read by the rebuild unless an event changed it in the meantime.
+     * Checked under the index lock, so an event handled right after still wins.
+     */
+    private synchronized void indexLoaded(ContentSearchDocument document) {
+        if (!changedDuringRebuild.contains(document.getId())) {
+            index(document.getId(), document.getTitle(), document.getDescription());
+        }
+    }
+
+    private Map<UUID, Double> scoreTerm(String term, boolean prefix) {
+        Map<UUID, Double> titleScores = new HashMap<>();
+        collect(titleTerms, term, prefix, TITLE_EXACT_WEIGHT, TITLE_PREFIX_WEIGHT, titleScores);
+
+        Map<UUID, Double> descriptionScores = new HashMap<>();
+        collect(descriptionTerms, term, prefix, DESCRIPTION_EXACT_WEIGHT, DESCRIPTION_PREFIX_WEIGHT, descriptionScores);
+
+        descriptionScores.forEach((id, score) -> titleScores.merge(id, score, Double::sum));
+        return titleScores;
+    }
+
+    private static void collect(NavigableMap<String, Set<UUID>> terms, String term, boolean prefix,
+                                double exactWeight, double prefixWeight, Map<UUID, Double> scores) {
+        if (!prefix) {
+            Set<UUID> ids = terms.get(term);
+            if (ids != null) {
+                ids.forEach(id -> scores.put(id, exactWeight));
+            }
+            return;
+        }
+
+        for (Map.Entry<String, Set<UUID>> entry : terms.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            double weight = entry.getKey().length() == term.length() ? exactWeight : prefixWeight;
+            entry.getValue().forEach(id -> scores.merge(id, weight, Math::max));
+        }
+    }
+
+    private String sortTitle(UUID id) {
+        IndexedContent content = documents.get(id);
+        return content != null ? content.title() : "";
+    }
+
+    private static void addPosting(NavigableMap<String, Set<UUID>> terms, String term, UUID id) {
+        terms.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private static void removePosting(NavigableMap<String, Set<UUID>> terms, String term, UUID id) {
+        terms.computeIfPresent(term, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private record IndexedContent(String title, Set<String> titleTerms, Set<String> descriptionTerms) {}
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.aleksandar.streaming_platform.backend.search;
+
+import com.aleksandar.streaming_platform.backend.dto.ContentSuggestionDto;
+import com.aleksandar.streaming_platform.backend.event.ContentChangedEvent;
+import com.aleksandar.streaming_platform.backend.event.ContentImportedEvent;
+import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted prefix index of normalised content titles for type-ahead suggestions.
+ * Each title is stored once under its full text and once under every suffix that
+ * starts at a later word, so "dark kni" finds "The Dark Knight". Titles that start
+ * with the query are suggested before titles that only contain it at a word boundary.
+ * Lookups never touch the database. As in {@link ContentSearchIndex}, contents changed
+ * while the start-up load runs are left to the change events.
+ */
+@Component
+public class ContentSuggestionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentSuggestionIndex.class);
+
+    // Sorts below every other character, so shorter titles come before their extensions
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
+    private final ContentRepository contentRepository;
+    private final int loadBatchSize;
+
+    private final NavigableMap<String, ContentSuggestionDto> titleKeys = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, ContentSuggestionDto> wordKeys = new ConcurrentSkipListMap<>();
+    private final Map<UUID, List<String>> keysById = new ConcurrentHashMap<>();
+    private final Set<UUID> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean rebuilding;
+
+    public ContentSuggestionIndex(ContentRepository contentRepository,
+                                  @Value("${search.index.load-batch-size:1000}") int loadBatchSize) {
+        this.contentRepository = contentRepository;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+        int indexed = 0;
+        UUID after = LOWEST_ID;
+
+        rebuilding = true;
+        try {
+            while (true) {
+                List<ContentSuggestionDto> batch = contentRepository.findSuggestionsAfter(after, PageRequest.of(0, loadBatchSize));
+                batch.forEach(this::indexLoaded);
+                indexed += batch.size();
+
+                if (batch.size() < loadBatchSize) {
+                    break;
+                }
+                after = batch.get(batch.size() - 1).id();
+            }
+        } finally {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+        }
+
+        logger.info("Indexed {} titles for suggestions in {} ms", indexed, System.currentTimeMillis() - startTime);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        markChanged(List.of(event.contentId()));
+        contentRepository.findSuggestionById(event.contentId())
+                .ifPresentOrElse(this::index, () -> remove(event.contentId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentImported(ContentImportedEvent event) {
+        markChanged(event.contentIds());
+        contentRepository.findSuggestionsByIdIn(event.contentIds()).forEach(this::index);
+    }
+
+    /**
+     * Returns up to {@code limit} titles matching the query as a prefix, title starts first
+     */
+    public List<ContentSuggestionDto> suggest(String query, int limit) {
+        String prefix = TextNormalizer.normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<UUID, ContentSuggestionDto> suggestions = new LinkedHashMap<>();
+        collect(titleKeys, prefix, limit, suggestions);
+        collect(wordKeys, prefix, limit, suggestions);
+        return new ArrayList<>(suggestions.values());
+    }
+
+    public synchronized void index(ContentSuggestionDto suggestion) {
+        remove(suggestion.id());
+
+        String title = TextNormalizer.normalize(suggestion.title());
+        if (title.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>();
+        String titleKey = key(title, suggestion.id());
+        titleKeys.put(titleKey, suggestion);
+        keys.add(titleKey);
+
+        for (int i = title.indexOf(' '); i >= 0; i = title.indexOf(' ', i + 1)) {
+            String wordKey = key(title.substring(i + 1), suggestion.id());
+            wordKeys.put(wordKey, suggestion);
+            keys.add(wordKey);
+        }
+
+        keysById.put(suggestion.id(), keys);
+    }
+
+    public synchronized void remove(UUID id) {
+        List<String> keys = keysById.remove(id);
+        if (keys == null) {
+            return;
+        }
+
+        for (String key : keys) {
+            titleKeys.remove(key);
+            wordKeys.remove(key);
+        }
+    }
+
+    private void markChanged(Collection<UUID> ids) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(ids);
+        }
+    }
+
+    private synchronized void indexLoaded(ContentSuggestionDto suggestion) {
+        if (!changedDuringRebuild.contains(suggestion.id())) {
+            index(suggestion);
+        }
+    }
+
+    private static void collect(NavigableMap<String, ContentSuggestionDto> keys, String prefix, int limit,
+                                Map<UUID, ContentSuggestionDto> suggestions) {
+        for (ContentSuggestionDto suggestion : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (suggestions.size() >= limit) {
+                return;
+            }
+            suggestions.putIfAbsent(suggestion.id(), suggestion);
+        }
+    }
+
+    private static String key(String text, UUID id) {
+        return text + KEY_SEPARATOR + id;
+    }
+}
\ No newline at end of file
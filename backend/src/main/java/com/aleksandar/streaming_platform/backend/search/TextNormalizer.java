@@ -0,0 +1,49 @@
+package com.aleksandar.streaming_platform.backend.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Normalises free text the same way for indexing and for querying, so that
+ * "Amélie" and "amelie" end up as the same term.
+ */
+final class TextNormalizer {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lower-cases the text, strips accents and collapses every run of
+     * punctuation or whitespace into a single space
+     */
+    static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+
+        String withoutMarks = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return TOKEN_SEPARATOR.matcher(withoutMarks.toLowerCase()).replaceAll(" ").strip();
+    }
+
+    /**
+     * Splits text into normalised words, keeping their first-occurrence order
+     */
+    static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        return Arrays.stream(normalized.split(" "))
+                .collect(Collectors.toCollection(LinkedHashSet::new))
+                .stream()
+                .toList();
+    }
+}
\ No newline at end of file
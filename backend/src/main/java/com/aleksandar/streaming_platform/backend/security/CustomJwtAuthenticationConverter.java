@@ -1,8 +1,5 @@
 package com.aleksandar.streaming_platform.backend.security;
 
-import com.aleksandar.streaming_platform.backend.model.User;
-import com.aleksandar.streaming_platform.backend.model.UserRoleType;
-import com.aleksandar.streaming_platform.backend.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,7 +13,6 @@ import org.springframework.stereotype.Component;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Component
@@ -24,7 +20,7 @@ public class CustomJwtAuthenticationConverter implements Converter<Jwt, Abstract
     
     private static final Logger logger = LoggerFactory.getLogger(CustomJwtAuthenticationConverter.class);
     
-    private final UserRepository userRepository;
+    private final UserAuthorityService userAuthorityService;
     
     @Value("${jwt.expected.issuer}")
     private String expectedIssuer;
@@ -32,8 +28,8 @@ public class CustomJwtAuthenticationConverter implements Converter<Jwt, Abstract
     @Value("${jwt.expected.audience}")
     private String expectedAudience;
     
-    public CustomJwtAuthenticationConverter(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public CustomJwtAuthenticationConverter(UserAuthorityService userAuthorityService) {
+        this.userAuthorityService = userAuthorityService;
     }
     
     @Override
@@ -56,7 +52,7 @@ public class CustomJwtAuthenticationConverter implements Converter<Jwt, Abstract
                 throw new IllegalArgumentException("Invalid UUID format in JWT subject: " + userId);
             }
             
-            // Fetch user authorities from database
+            // Fetch user authorities (cached per user)
             List<SimpleGrantedAuthority> authorities = getUserAuthorities(userUuid);
             
             logger.debug("Successfully authenticated user: {} with authorities: {}", userId, authorities);
@@ -102,19 +98,7 @@ public class CustomJwtAuthenticationConverter implements Converter<Jwt, Abstract
     
     private List<SimpleGrantedAuthority> getUserAuthorities(UUID userId) {
         try {
-            Optional<User> userOpt = userRepository.findByIdWithRole(userId);
-            
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                UserRoleType roleType = user.getUserRole() != null ? user.getUserRole().getName() : UserRoleType.USER;
-                
-                logger.debug("User {} has role: {}", userId, roleType);
-                return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + roleType.getRoleName()));
-            } else {
-                logger.warn("User not found in database: {}", userId);
-                return Collections.emptyList();
-            }
-            
+            return userAuthorityService.getUserAuthorities(userId);
         } catch (Exception e) {
             logger.error("Error fetching user authorities for user {}: {}", userId, e.getMessage());
             return Collections.emptyList();
@@ -1,7 +1,9 @@
 package com.aleksandar.streaming_platform.backend.security;
 
+import com.aleksandar.streaming_platform.backend.config.CacheNames;
 import com.nimbusds.jose.JWSAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
@@ -24,7 +26,7 @@ public class JwtConfig {
     private long clockSkewSeconds;
     
     @Bean
-    public JwtDecoder jwtDecoder() {
+    public JwtDecoder jwtDecoder(CacheManager cacheManager) {
         // For symmetric key (HMAC) - development/internal use
         if (!secretKey.isEmpty()) {
             SecretKeySpec secretKeySpec = new SecretKeySpec(
@@ -43,7 +45,8 @@ public class JwtConfig {
             }
             // Note: Clock skew is handled by the validator, not set directly on decoder
             
-            return decoder;
+            // Verified tokens are cached until they expire, so repeat requests skip verification
+            return new CachingJwtDecoder(decoder, cacheManager.getCache(CacheNames.JWT_TOKENS));
         }
         
         // For asymmetric keys (RSA/ECDSA) - production use
@@ -12,6 +12,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -24,9 +25,11 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final CustomJwtAuthenticationConverter jwtAuthenticationConverter;
+    private final JwtDecoder jwtDecoder;
 
-    public SecurityConfig(CustomJwtAuthenticationConverter jwtAuthenticationConverter) {
+    public SecurityConfig(CustomJwtAuthenticationConverter jwtAuthenticationConverter, JwtDecoder jwtDecoder) {
         this.jwtAuthenticationConverter = jwtAuthenticationConverter;
+        this.jwtDecoder = jwtDecoder;
     }
 
     @Bean
@@ -43,8 +46,10 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:4200"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "HEAD", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // Resumable upload clients read their progress from these
+        configuration.setExposedHeaders(Arrays.asList("Location", "Upload-Offset", "Upload-Length"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
@@ -64,6 +69,7 @@ public class SecurityConfig {
                 // OAuth2 Resource Server configuration
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt
+                                .decoder(jwtDecoder)
                                 .jwtAuthenticationConverter(jwtAuthenticationConverter)
                         )
                 )
@@ -73,8 +79,13 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/content-types/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/genres/**").permitAll()
+                        // Recommendations are computed from the caller's own watchlist
+                        .requestMatchers(HttpMethod.GET, "/api/v1/content/recommendations").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/v1/content/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/episodes/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/stream/**").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/api/v1/stream/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/images/**").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
 
                         // Admin only endpoints
@@ -91,12 +102,16 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/api/v1/episodes/**").hasRole(UserRoleType.ADMIN.getRoleName())
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/episodes/**").hasRole(UserRoleType.ADMIN.getRoleName())
                         .requestMatchers("/api/v1/user-roles/**").hasRole(UserRoleType.ADMIN.getRoleName())
+                        .requestMatchers("/api/v1/media-packages/**").hasRole(UserRoleType.ADMIN.getRoleName())
+                        .requestMatchers("/api/v1/uploads/**").hasRole(UserRoleType.ADMIN.getRoleName())
+                        .requestMatchers("/api/v1/admin/**").hasRole(UserRoleType.ADMIN.getRoleName())
                         .requestMatchers(HttpMethod.GET, "api/v1/users").hasRole(UserRoleType.ADMIN.getRoleName())
                         .requestMatchers(HttpMethod.POST, "/api/v1/users").hasRole(UserRoleType.ADMIN.getRoleName())
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/users/**").hasRole(UserRoleType.ADMIN.getRoleName())
 
                         // Authenticated user endpoints
                         .requestMatchers("/api/v1/watchlists/**").authenticated()
+                        .requestMatchers("/api/v1/watch-progress/**").authenticated()
                         .requestMatchers("/api/v1/users/**").authenticated()
 
                         // All other requests need authentication
@@ -0,0 +1,74 @@
+package com.aleksandar.streaming_platform.backend.security;
+
+import com.aleksandar.streaming_platform.backend.config.CacheNames;
+import com.aleksandar.streaming_platform.backend.event.UserAuthoritiesChangedEvent;
+import com.aleksandar.streaming_platform.backend.model.User;
+import com.aleksandar.streaming_platform.backend.model.UserRoleType;
+import com.aleksandar.streaming_platform.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class UserAuthorityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAuthorityService.class);
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    public UserAuthorityService(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Resolves the granted authorities of a user from their role.
+     * Results are cached per user id; unknown users are not cached so that
+     * a freshly registered account is picked up on its next request.
+     */
+    @Cacheable(cacheNames = CacheNames.USER_AUTHORITIES, key = "#userId", unless = "#result.isEmpty()")
+    public List<SimpleGrantedAuthority> getUserAuthorities(UUID userId) {
+        Optional<User> userOpt = userRepository.findByIdWithRole(userId);
+
+        if (userOpt.isPresent()) {
+            User user = userOpt.get();
+            UserRoleType roleType = user.getUserRole() != null ? user.getUserRole().getName() : UserRoleType.USER;
+
+            logger.debug("User {} has role: {}", userId, roleType);
+            return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + roleType.getRoleName()));
+        }
+
+        logger.warn("User not found in database: {}", userId);
+        return Collections.emptyList();
+    }
+
+    /**
+     * Runs after commit for local changes, and straight away for changes
+     * received from other nodes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAuthoritiesChanged(UserAuthoritiesChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheNames.USER_AUTHORITIES);
+        if (cache == null) {
+            return;
+        }
+
+        // Unlike evict, these apply immediately instead of waiting for a transaction-aware cache commit
+        if (event.userId() != null) {
+            cache.evictIfPresent(event.userId());
+        } else {
+            cache.invalidate();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.aleksandar.streaming_platform.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface CatalogExportService {
+    
+    /**
+     * Writes every content with its genres and episode count to the stream, one row
+     * per content, while reading the catalogue through a database cursor
+     */
+    void exportContent(OutputStream out, Format format) throws IOException;
+    
+    enum Format {
+        NDJSON,
+        CSV
+    }
+}
\ No newline at end of file
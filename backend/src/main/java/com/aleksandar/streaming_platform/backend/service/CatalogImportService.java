@@ -0,0 +1,20 @@
+package com.aleksandar.streaming_platform.backend.service;
+
+import com.aleksandar.streaming_platform.backend.dto.ImportReportDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface CatalogImportService {
+    
+    /**
+     * Imports one content per row of the body, reading it as it arrives. Rows that
+     * fail are reported by line and do not stop the rest of the import.
+     */
+    ImportReportDto importContent(InputStream body, Format format) throws IOException;
+    
+    enum Format {
+        NDJSON,
+        CSV
+    }
+}
\ No newline at end of file
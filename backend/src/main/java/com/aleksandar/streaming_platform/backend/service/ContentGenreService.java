@@ -28,5 +28,13 @@ public interface ContentGenreService {
     
     List<ContentDto> searchContentByGenreName(String genreName);
     
+    /**
+     * Replaces the genres of a content with exactly the given ones
+     */
     void bulkAssignGenresToContent(UUID contentId, List<UUID> genreIds);
+    
+    /**
+     * Adds the given genres to every given content, keeping their other genres
+     */
+    void assignGenresToContents(List<UUID> contentIds, List<UUID> genreIds);
 }
\ No newline at end of file
@@ -1,13 +1,17 @@
 package com.aleksandar.streaming_platform.backend.service;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
+import com.aleksandar.streaming_platform.backend.dto.ContentSuggestionDto;
 import com.aleksandar.streaming_platform.backend.dto.CreateContentDto;
+import com.aleksandar.streaming_platform.backend.dto.CursorSliceDto;
 import com.aleksandar.streaming_platform.backend.dto.EpisodeDto;
 import com.aleksandar.streaming_platform.backend.dto.GenreDto;
+import com.aleksandar.streaming_platform.backend.dto.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,8 +21,12 @@ public interface ContentService {
     
     Optional<ContentDto> getContentById(UUID id);
     
+    Optional<ResourceVersion> getContentVersion(UUID id);
+    
     Page<ContentDto> getAllContent(Pageable pageable);
     
+    CursorSliceDto<ContentDto> getAllContentByCursor(String cursor, int size);
+    
     Page<ContentDto> getAvailableContent(Pageable pageable);
     
     Page<ContentDto> getContentByType(String typeName, Pageable pageable);
@@ -27,12 +35,16 @@ public interface ContentService {
     
     Page<ContentDto> searchContentByTitle(String title, Pageable pageable);
     
+    List<ContentSuggestionDto> suggestContent(String query, int limit);
+    
     Page<ContentDto> getContentByLanguage(String language, Pageable pageable);
     
     Page<ContentDto> getContentByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable);
     
     Page<ContentDto> getRecentContent(Pageable pageable);
     
+    CursorSliceDto<ContentDto> getRecentContentByCursor(String cursor, int size);
+    
     ContentDto updateContent(ContentDto contentDto);
     
     void deleteContent(UUID id);
@@ -2,6 +2,7 @@ package com.aleksandar.streaming_platform.backend.service;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
 import com.aleksandar.streaming_platform.backend.dto.ContentTypeDto;
+import com.aleksandar.streaming_platform.backend.dto.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -22,6 +23,8 @@ public interface ContentTypeService {
     
     Page<ContentTypeDto> searchContentTypesByName(String name, Pageable pageable);
     
+    ResourceVersion getContentTypesVersion();
+    
     ContentTypeDto updateContentType(ContentTypeDto contentTypeDto);
     
     void deleteContentType(UUID id);
@@ -3,6 +3,7 @@ package com.aleksandar.streaming_platform.backend.service;
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
 import com.aleksandar.streaming_platform.backend.dto.CreateEpisodeDto;
 import com.aleksandar.streaming_platform.backend.dto.EpisodeDto;
+import com.aleksandar.streaming_platform.backend.dto.EpisodeTreeDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -32,6 +33,8 @@ public interface EpisodeService {
     
     List<Integer> getSeasonNumbersByContentId(UUID contentId);
     
+    EpisodeTreeDto getEpisodeTree(UUID contentId);
+    
     Long getTotalEpisodeCountByContentId(UUID contentId);
     
     Long getEpisodeCountByContentIdAndSeason(UUID contentId, Integer seasonNumber);
@@ -2,6 +2,7 @@ package com.aleksandar.streaming_platform.backend.service;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
 import com.aleksandar.streaming_platform.backend.dto.GenreDto;
+import com.aleksandar.streaming_platform.backend.dto.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -22,6 +23,8 @@ public interface GenreService {
     
     Page<GenreDto> searchGenresByName(String name, Pageable pageable);
     
+    ResourceVersion getGenresVersion();
+    
     GenreDto updateGenre(GenreDto genreDto);
     
     void deleteGenre(UUID id);
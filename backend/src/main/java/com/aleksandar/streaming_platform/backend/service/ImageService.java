@@ -0,0 +1,19 @@
+package com.aleksandar.streaming_platform.backend.service;
+
+import com.aleksandar.streaming_platform.backend.media.ImageVariant;
+import org.springframework.core.io.Resource;
+
+import java.util.UUID;
+
+public interface ImageService {
+    
+    /**
+     * Picks the variant of a content's thumbnail that serves the requested width, without rendering it
+     */
+    ImageVariant getThumbnailVariant(UUID contentId, Integer width);
+    
+    /**
+     * Returns the rendered variant, rendering and caching it on first use
+     */
+    Resource render(ImageVariant variant);
+}
\ No newline at end of file
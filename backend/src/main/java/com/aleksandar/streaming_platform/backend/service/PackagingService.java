@@ -0,0 +1,27 @@
+package com.aleksandar.streaming_platform.backend.service;
+
+import com.aleksandar.streaming_platform.backend.dto.MediaPackageDto;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PackagingService {
+    
+    /**
+     * Queues HLS packaging of the video of the content or episode with the given id
+     */
+    MediaPackageDto packageMedia(UUID mediaId);
+    
+    Optional<MediaPackageDto> getPackage(UUID packageId);
+    
+    /**
+     * Returns the id of the newest ready package of the content or episode with the given id
+     */
+    UUID getLatestPackageId(UUID mediaId);
+    
+    /**
+     * Returns the manifest or a recorded segment of a ready package
+     */
+    Path resolvePackageFile(UUID packageId, String fileName);
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.aleksandar.streaming_platform.backend.service;
+
+import com.aleksandar.streaming_platform.backend.model.PopularitySubject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+public interface PopularityService {
+    
+    /**
+     * Returns a page of subject ids ordered from most to least popular.
+     * The page is empty when nothing has been ranked yet.
+     */
+    Page<UUID> getRanking(PopularitySubject subject, Pageable pageable);
+    
+    void snapshot();
+}
\ No newline at end of file
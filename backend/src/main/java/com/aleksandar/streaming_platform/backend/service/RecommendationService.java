@@ -0,0 +1,16 @@
+package com.aleksandar.streaming_platform.backend.service;
+
+import com.aleksandar.streaming_platform.backend.dto.ContentDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+public interface RecommendationService {
+    
+    Page<ContentDto> getRecommendations(UUID userId, Pageable pageable);
+    
+    void rebuildAll();
+    
+    void refreshUser(UUID userId);
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.aleksandar.streaming_platform.backend.service;
+
+import java.util.UUID;
+
+public interface StreamingService {
+    
+    /**
+     * Returns the stored video location of the content or episode with the given id
+     */
+    String getVideoLocation(UUID id);
+}
\ No newline at end of file
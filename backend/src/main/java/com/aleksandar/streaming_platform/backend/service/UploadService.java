@@ -0,0 +1,22 @@
+package com.aleksandar.streaming_platform.backend.service;
+
+import com.aleksandar.streaming_platform.backend.dto.CreateUploadDto;
+import com.aleksandar.streaming_platform.backend.dto.MediaUploadDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UploadService {
+    
+    MediaUploadDto createUpload(CreateUploadDto createUploadDto);
+    
+    Optional<MediaUploadDto> getUpload(UUID id);
+    
+    /**
+     * Appends a chunk at the given offset, verifying it first when a checksum such as
+     * {@code sha256 <base64 digest>} is given. The last chunk attaches the file to its target.
+     */
+    MediaUploadDto appendChunk(UUID id, long offset, String checksum, InputStream chunk) throws IOException;
+}
\ No newline at end of file
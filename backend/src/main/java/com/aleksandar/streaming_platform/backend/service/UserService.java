@@ -2,6 +2,7 @@ package com.aleksandar.streaming_platform.backend.service;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
 import com.aleksandar.streaming_platform.backend.dto.CreateUserDto;
+import com.aleksandar.streaming_platform.backend.dto.CursorSliceDto;
 import com.aleksandar.streaming_platform.backend.dto.UserDto;
 import com.aleksandar.streaming_platform.backend.dto.WatchlistDto;
 import org.springframework.data.domain.Page;
@@ -20,6 +21,8 @@ public interface UserService {
     
     Page<UserDto> getAllUsers(Pageable pageable);
     
+    CursorSliceDto<UserDto> getAllUsersByCursor(String cursor, int size);
+    
     Page<UserDto> getUsersByCountry(String country, Pageable pageable);
     
     Page<UserDto> getUsersByRoleName(String roleName, Pageable pageable);
@@ -0,0 +1,39 @@
+package com.aleksandar.streaming_platform.backend.service;
+
+import com.aleksandar.streaming_platform.backend.dto.ContinueWatchingDto;
+import com.aleksandar.streaming_platform.backend.dto.UpdateWatchProgressDto;
+import com.aleksandar.streaming_platform.backend.dto.WatchProgressDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface WatchProgressService {
+    
+    /**
+     * Records a playback heartbeat. It is buffered in memory and written on the next flush.
+     */
+    void recordProgress(UUID userId, UpdateWatchProgressDto progress);
+    
+    /**
+     * Returns the user's progress on a content and, for series, on each of its episodes,
+     * most recent first. Heartbeats that have not been flushed yet are included.
+     */
+    List<WatchProgressDto> getProgressByContentId(UUID userId, UUID contentId);
+    
+    /**
+     * Returns up to {@code limit} contents the user has started and not finished, most
+     * recently watched first. A series whose last watched episode was finished is
+     * listed with the episode after it.
+     */
+    List<ContinueWatchingDto> getContinueWatching(UUID userId, int limit);
+    
+    /**
+     * Drops the user's progress, buffered and persisted
+     */
+    void deleteProgressByUserId(UUID userId);
+    
+    /**
+     * Writes all buffered heartbeats to the database
+     */
+    void flush();
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.aleksandar.streaming_platform.backend.service;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
+import com.aleksandar.streaming_platform.backend.dto.CursorSliceDto;
 import com.aleksandar.streaming_platform.backend.dto.UserDto;
 import com.aleksandar.streaming_platform.backend.dto.WatchlistDto;
 import org.springframework.data.domain.Page;
@@ -18,6 +19,8 @@ public interface WatchlistService {
     
     Page<WatchlistDto> getWatchlistByUserIdOrderedByDate(UUID userId, Pageable pageable);
     
+    CursorSliceDto<WatchlistDto> getWatchlistByUserIdByCursor(UUID userId, String cursor, int size);
+    
     Page<ContentDto> getWatchlistContentByUserId(UUID userId, Pageable pageable);
     
     Page<UserDto> getUsersByContentInWatchlist(UUID contentId, Pageable pageable);
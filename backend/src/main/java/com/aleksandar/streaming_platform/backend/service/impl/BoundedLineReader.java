@@ -0,0 +1,74 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads LF or CRLF terminated lines one at a time. At most one character more than
+ * the limit is held for a line; the rest of a longer line is skipped up to the next
+ * line break, so a body without line breaks cannot pull the whole input into memory.
+ */
+class BoundedLineReader {
+
+    private final Reader reader;
+    private final int maxLineLength;
+    private final StringBuilder text = new StringBuilder();
+
+    private long line;
+    private boolean tooLong;
+
+    BoundedLineReader(Reader reader, int maxLineLength) {
+        this.reader = reader;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Moves to the next line, returning false at the end of the input
+     */
+    boolean next() throws IOException {
+        text.setLength(0);
+        tooLong = false;
+
+        int c = reader.read();
+        if (c == -1) {
+            return false;
+        }
+        line++;
+
+        while (c != -1 && c != '\n') {
+            if (!tooLong) {
+                // One extra character leaves room for the CR of a CRLF terminator
+                if (text.length() > maxLineLength) {
+                    tooLong = true;
+                    text.setLength(0);
+                } else {
+                    text.append((char) c);
+                }
+            }
+            c = reader.read();
+        }
+
+        if (!text.isEmpty() && text.charAt(text.length() - 1) == '\r') {
+            text.setLength(text.length() - 1);
+        }
+        if (text.length() > maxLineLength) {
+            tooLong = true;
+            text.setLength(0);
+        }
+        return true;
+    }
+
+    /**
+     * The current line without its terminator, or null when it exceeded the limit
+     */
+    String text() {
+        return tooLong ? null : text.toString();
+    }
+
+    /**
+     * One-based number of the current line
+     */
+    long line() {
+        return line;
+    }
+}
\ No newline at end of file
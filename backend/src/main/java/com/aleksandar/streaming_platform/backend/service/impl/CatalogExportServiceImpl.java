@@ -0,0 +1,221 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import com.aleksandar.streaming_platform.backend.catalog.CatalogCache;
+import com.aleksandar.streaming_platform.backend.catalog.CatalogSnapshot;
+import com.aleksandar.streaming_platform.backend.dto.ContentDto;
+import com.aleksandar.streaming_platform.backend.dto.GenreDto;
+import com.aleksandar.streaming_platform.backend.mapper.DtoMapper;
+import com.aleksandar.streaming_platform.backend.model.Content;
+import com.aleksandar.streaming_platform.backend.repository.ContentGenreRepository;
+import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
+import com.aleksandar.streaming_platform.backend.repository.EpisodeRepository;
+import com.aleksandar.streaming_platform.backend.service.CatalogExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole catalogue in id order. Contents are read through a database
+ * cursor and handled in chunks: each chunk gets its genres and episode counts in one
+ * query apiece, is written and flushed, and is then evicted from the persistence
+ * context, so memory stays flat however large the catalogue grows.
+ */
+@Service
+public class CatalogExportServiceImpl implements CatalogExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogExportServiceImpl.class);
+
+    // Same names the CSV import reads, so an export can be imported elsewhere
+    private static final List<String> CSV_HEADER = List.of("id", "title", "description", "releaseDate", "duration",
+            "language", "thumbnailUrl", "videoUrl", "isAvailable", "contentType", "genres", "episodeCount",
+            "createdAt", "updatedAt");
+    private static final String GENRE_SEPARATOR = "|";
+
+    private final ContentRepository contentRepository;
+    private final ContentGenreRepository contentGenreRepository;
+    private final EpisodeRepository episodeRepository;
+    private final CatalogCache catalogCache;
+    private final DtoMapper dtoMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    private final int chunkSize;
+
+    public CatalogExportServiceImpl(ContentRepository contentRepository,
+                                    ContentGenreRepository contentGenreRepository,
+                                    EpisodeRepository episodeRepository,
+                                    CatalogCache catalogCache,
+                                    DtoMapper dtoMapper,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${catalog.export.chunk-size:500}") int chunkSize) {
+        this.contentRepository = contentRepository;
+        this.contentGenreRepository = contentGenreRepository;
+        this.episodeRepository = episodeRepository;
+        this.catalogCache = catalogCache;
+        this.dtoMapper = dtoMapper;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportContent(OutputStream out, Format format) throws IOException {
+        long startTime = System.currentTimeMillis();
+        long exported = 0;
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out, objectMapper);
+        CatalogSnapshot<GenreDto> genres = catalogCache.genres();
+
+        try (Stream<Content> contents = contentRepository.streamAllOrderById()) {
+            Iterator<Content> iterator = contents.iterator();
+            List<Content> chunk = new ArrayList<>(chunkSize);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() < chunkSize && iterator.hasNext()) {
+                    continue;
+                }
+
+                for (ContentDto content : toContentDtos(chunk, genres)) {
+                    writer.write(content);
+                }
+                writer.flush();
+                exported += chunk.size();
+                chunk.clear();
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+
+        logger.info("Exported {} contents as {} in {} ms", exported, format, System.currentTimeMillis() - startTime);
+    }
+
+    private List<ContentDto> toContentDtos(List<Content> chunk, CatalogSnapshot<GenreDto> genres) {
+        List<UUID> ids = chunk.stream().map(Content::getId).collect(Collectors.toList());
+
+        Map<UUID, List<GenreDto>> genresByContent = new HashMap<>();
+        contentGenreRepository.findPairsByContentIdIn(ids).forEach(pair ->
+                genres.findById(pair.getGenreId()).ifPresent(genre ->
+                        genresByContent.computeIfAbsent(pair.getContentId(), id -> new ArrayList<>()).add(genre)));
+
+        Map<UUID, Integer> episodeCounts = episodeRepository.countByContentIds(ids).stream()
+                .collect(Collectors.toMap(
+                        EpisodeRepository.ContentEpisodeCount::getContentId,
+                        count -> count.getEpisodeCount().intValue()));
+
+        List<ContentDto> dtos = new ArrayList<>(chunk.size());
+        for (Content content : chunk) {
+            List<GenreDto> contentGenres = genresByContent.getOrDefault(content.getId(), new ArrayList<>());
+            contentGenres.sort(Comparator.comparing(GenreDto::name));
+            dtos.add(new ContentDto(
+                    content.getId(),
+                    content.getTitle(),
+                    content.getDescription(),
+                    content.getReleaseDate(),
+                    content.getDuration(),
+                    content.getLanguage(),
+                    content.getThumbnailUrl(),
+                    content.getVideoUrl(),
+                    content.isAvailable(),
+                    content.getCreatedAt(),
+                    content.getUpdatedAt(),
+                    dtoMapper.toContentTypeDto(content.getContentType()),
+                    contentGenres,
+                    episodeCounts.getOrDefault(content.getId(), 0)));
+        }
+        return dtos;
+    }
+
+    private interface RowWriter {
+
+        void write(ContentDto content) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter rowWriter;
+
+        NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            // Rows are separated by the newline written after each one, not by Jackson's default space
+            generator.setRootValueSeparator(null);
+            // Flushed once per chunk rather than once per row
+            this.rowWriter = objectMapper.writerFor(ContentDto.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void write(ContentDto content) throws IOException {
+            rowWriter.writeValue(generator, content);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final BufferedWriter writer;
+        private final CsvRecordWriter records;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.records = new CsvRecordWriter(writer);
+            records.write(CSV_HEADER);
+        }
+
+        @Override
+        public void write(ContentDto content) throws IOException {
+            records.write(Arrays.asList(
+                    content.id().toString(),
+                    content.title(),
+                    content.description(),
+                    Objects.toString(content.releaseDate(), null),
+                    content.duration(),
+                    content.language(),
+                    content.thumbnailUrl(),
+                    content.videoUrl(),
+                    String.valueOf(content.isAvailable()),
+                    content.contentType() != null ? content.contentType().name() : null,
+                    content.genres().stream().map(GenreDto::name).collect(Collectors.joining(GENRE_SEPARATOR)),
+                    String.valueOf(content.episodeCount()),
+                    Objects.toString(content.createdAt(), null),
+                    Objects.toString(content.updatedAt(), null)));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,418 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import com.aleksandar.streaming_platform.backend.catalog.CatalogCache;
+import com.aleksandar.streaming_platform.backend.catalog.CatalogSnapshot;
+import com.aleksandar.streaming_platform.backend.dto.ContentImportRow;
+import com.aleksandar.streaming_platform.backend.dto.ContentTypeDto;
+import com.aleksandar.streaming_platform.backend.dto.EpisodeImportRow;
+import com.aleksandar.streaming_platform.backend.dto.GenreDto;
+import com.aleksandar.streaming_platform.backend.dto.ImportReportDto;
+import com.aleksandar.streaming_platform.backend.event.ContentImportedEvent;
+import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
+import com.aleksandar.streaming_platform.backend.service.CatalogImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an import body row by row. Content types and genres are resolved by name
+ * from the catalog snapshot, and accepted rows are written with plain JDBC batches,
+ * one transaction per batch. When a batch fails its rows are retried one at a time
+ * so the report can name the rows the database rejected.
+ */
+@Service
+public class CatalogImportServiceImpl implements CatalogImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportServiceImpl.class);
+
+    private static final String INSERT_CONTENT =
+            "INSERT INTO contents (id, title, description, release_date, duration, language, thumbnail_url, " +
+            "video_url, is_available, content_type_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CONTENT_GENRE = "INSERT INTO content_genres (content_id, genre_id) VALUES (?, ?)";
+    private static final String INSERT_EPISODE =
+            "INSERT INTO episodes (id, content_id, season_number, episode_number, title, description, duration, " +
+            "release_date, thumbnail_url, video_url, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String GENRE_SEPARATOR = "|";
+
+    private final CatalogCache catalogCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectReader rowReader;
+
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final int maxRowLength;
+
+    public CatalogImportServiceImpl(CatalogCache catalogCache,
+                                    JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    @Value("${catalog.import.batch-size:1000}") int batchSize,
+                                    @Value("${catalog.import.max-reported-errors:1000}") int maxReportedErrors,
+                                    @Value("${catalog.import.max-row-length:1048576}") int maxRowLength) {
+        this.catalogCache = catalogCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.rowReader = objectMapper.readerFor(ContentImportRow.class);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxRowLength = maxRowLength;
+    }
+
+    @Override
+    public ImportReportDto importContent(InputStream body, Format format) throws IOException {
+        long startTime = System.currentTimeMillis();
+        ImportRun run = new ImportRun(catalogCache.contentTypes(), catalogCache.genres());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            switch (format) {
+                case NDJSON -> readNdjson(reader, run);
+                case CSV -> readCsv(reader, run);
+            }
+        }
+        run.flush();
+
+        long duration = System.currentTimeMillis() - startTime;
+        logger.info("Imported {} of {} contents with {} episodes in {} ms, {} rows failed",
+                run.imported, run.total, run.importedEpisodes, duration, run.failed);
+        return new ImportReportDto(run.total, run.imported, run.failed, run.importedEpisodes, duration,
+                run.errors, run.failed > run.errors.size());
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(reader, maxRowLength);
+        while (lines.next()) {
+            long line = lines.line();
+            String text = lines.text();
+            if (text == null) {
+                run.reject(line, "Row exceeds " + maxRowLength + " characters");
+                continue;
+            }
+            if (text.isBlank()) {
+                continue;
+            }
+
+            ContentImportRow row;
+            try {
+                row = rowReader.readValue(text);
+            } catch (JsonProcessingException e) {
+                run.reject(line, "Malformed row: " + e.getOriginalMessage());
+                continue;
+            }
+            if (row == null) {
+                run.reject(line, "Malformed row: expected a JSON object");
+                continue;
+            }
+            run.accept(line, row);
+        }
+    }
+
+    /**
+     * Columns are matched by header name, case-insensitively, and unknown columns are
+     * ignored. Genres are separated by {@code |}; episodes can only be imported as NDJSON.
+     */
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvRecordReader records = new CsvRecordReader(reader, maxRowLength);
+        try {
+            List<String> header = records.next();
+            if (header == null) {
+                return;
+            }
+            Map<String, Integer> columns = columnIndex(header);
+
+            List<String> record;
+            while ((record = records.next()) != null) {
+                long line = records.recordLine();
+                ContentImportRow row;
+                try {
+                    row = toRow(columns, record);
+                } catch (IllegalArgumentException e) {
+                    run.reject(line, e.getMessage());
+                    continue;
+                }
+                run.accept(line, row);
+            }
+        } catch (CsvRecordReader.CsvFormatException e) {
+            // The reader cannot find the start of the next record, so the rest of the body is skipped
+            run.reject(e.line(), e.getMessage());
+        }
+    }
+
+    private static Map<String, Integer> columnIndex(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        for (String required : List.of("title", "contenttype")) {
+            if (!columns.containsKey(required)) {
+                throw new BusinessLogicException("CSV header is missing the " + required + " column");
+            }
+        }
+        return columns;
+    }
+
+    private static ContentImportRow toRow(Map<String, Integer> columns, List<String> record) {
+        Function<String, String> value = column -> {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size()) {
+                return null;
+            }
+            String field = record.get(index).trim();
+            return field.isEmpty() ? null : field;
+        };
+
+        String releaseDate = value.apply("releasedate");
+        String isAvailable = value.apply("isavailable");
+        String genres = value.apply("genres");
+
+        return new ContentImportRow(
+                value.apply("title"),
+                value.apply("description"),
+                releaseDate != null ? parseDate(releaseDate) : null,
+                value.apply("duration"),
+                value.apply("language"),
+                value.apply("thumbnailurl"),
+                value.apply("videourl"),
+                isAvailable != null ? parseBoolean(isAvailable) : null,
+                value.apply("contenttype"),
+                genres != null ? Arrays.stream(genres.split("\\" + GENRE_SEPARATOR))
+                        .map(String::trim)
+                        .filter(genre -> !genre.isEmpty())
+                        .collect(Collectors.toList()) : null,
+                null);
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid release date '" + value + "', expected yyyy-MM-dd");
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid availability '" + value + "', expected true or false");
+    }
+
+    private static <T> Map<String, UUID> idsByName(CatalogSnapshot<T> snapshot, Function<T, UUID> idOf, Function<T, String> nameOf) {
+        Map<String, UUID> ids = new HashMap<>();
+        for (T item : snapshot.findAll(Pageable.unpaged())) {
+            ids.put(nameOf.apply(item).toLowerCase(Locale.ROOT), idOf.apply(item));
+        }
+        return ids;
+    }
+
+    /**
+     * Parsing, resolution and batching state of a single import request
+     */
+    private class ImportRun {
+
+        private final Map<String, UUID> contentTypeIds;
+        private final Map<String, UUID> genreIds;
+        private final List<PendingContent> batch = new ArrayList<>();
+        private final List<ImportReportDto.RowError> errors = new ArrayList<>();
+
+        private long total;
+        private long imported;
+        private long failed;
+        private long importedEpisodes;
+
+        ImportRun(CatalogSnapshot<ContentTypeDto> contentTypes, CatalogSnapshot<GenreDto> genres) {
+            this.contentTypeIds = idsByName(contentTypes, ContentTypeDto::id, ContentTypeDto::name);
+            this.genreIds = idsByName(genres, GenreDto::id, GenreDto::name);
+        }
+
+        void accept(long line, ContentImportRow row) {
+            total++;
+
+            Set<ConstraintViolation<ContentImportRow>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                error(line, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+
+            UUID contentTypeId = contentTypeIds.get(row.contentType().toLowerCase(Locale.ROOT));
+            if (contentTypeId == null) {
+                error(line, "Unknown content type '" + row.contentType() + "'");
+                return;
+            }
+
+            Set<UUID> genres = new LinkedHashSet<>();
+            for (String genre : row.genres() != null ? row.genres() : List.<String>of()) {
+                UUID genreId = genre != null ? genreIds.get(genre.trim().toLowerCase(Locale.ROOT)) : null;
+                if (genreId == null) {
+                    error(line, "Unknown genre '" + genre + "'");
+                    return;
+                }
+                genres.add(genreId);
+            }
+
+            List<EpisodeImportRow> episodes = row.episodes() != null ? row.episodes() : List.of();
+            Set<String> episodeNumbers = new HashSet<>();
+            for (EpisodeImportRow episode : episodes) {
+                String number = "S" + episode.seasonNumber() + "E" + episode.episodeNumber();
+                if (!episodeNumbers.add(number)) {
+                    error(line, "Duplicate episode " + number);
+                    return;
+                }
+            }
+
+            batch.add(PendingContent.of(line, row, contentTypeId, genres, episodes, LocalDateTime.now()));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Records a row that could not be parsed at all
+         */
+        void reject(long line, String message) {
+            total++;
+            error(line, message);
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                write(batch);
+                imported += batch.size();
+                batch.forEach(content -> importedEpisodes += content.episodes().size());
+            } catch (DataAccessException e) {
+                if (batch.size() == 1) {
+                    error(batch.get(0).line(), saveFailure(e));
+                } else {
+                    logger.debug("Import batch of {} rows failed, retrying row by row: {}", batch.size(), e.getMessage());
+                    for (PendingContent content : batch) {
+                        try {
+                            write(List.of(content));
+                            imported++;
+                            importedEpisodes += content.episodes().size();
+                        } catch (DataAccessException rowFailure) {
+                            error(content.line(), saveFailure(rowFailure));
+                        }
+                    }
+                }
+            }
+            batch.clear();
+        }
+
+        private void write(List<PendingContent> contents) {
+            List<Object[]> contentRows = new ArrayList<>(contents.size());
+            List<Object[]> genreRows = new ArrayList<>();
+            List<Object[]> episodeRows = new ArrayList<>();
+            List<UUID> ids = new ArrayList<>(contents.size());
+            for (PendingContent content : contents) {
+                contentRows.add(content.content());
+                genreRows.addAll(content.genres());
+                episodeRows.addAll(content.episodes());
+                ids.add(content.id());
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                batchInsert(INSERT_CONTENT, contentRows);
+                batchInsert(INSERT_CONTENT_GENRE, genreRows);
+                batchInsert(INSERT_EPISODE, episodeRows);
+                eventPublisher.publishEvent(new ContentImportedEvent(ids));
+            });
+        }
+
+        private void error(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportReportDto.RowError(line, message));
+            }
+        }
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (statement, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                statement.setObject(i + 1, row[i]);
+            }
+        });
+    }
+
+    private static String saveFailure(DataAccessException e) {
+        return "Could not be saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+    }
+
+    /**
+     * A validated row, already laid out as insert parameters
+     */
+    private record PendingContent(long line, UUID id, Object[] content, List<Object[]> genres, List<Object[]> episodes) {
+
+        static PendingContent of(long line, ContentImportRow row, UUID contentTypeId, Set<UUID> genreIds,
+                                 List<EpisodeImportRow> episodeRows, LocalDateTime now) {
+            UUID id = UUID.randomUUID();
+            Object[] content = {id, row.title(), row.description(), row.releaseDate(), row.duration(), row.language(),
+                    row.thumbnailUrl(), row.videoUrl(), Boolean.TRUE.equals(row.isAvailable()), contentTypeId, now, now};
+
+            List<Object[]> genres = new ArrayList<>(genreIds.size());
+            genreIds.forEach(genreId -> genres.add(new Object[] {id, genreId}));
+
+            List<Object[]> episodes = new ArrayList<>(episodeRows.size());
+            for (EpisodeImportRow episode : episodeRows) {
+                episodes.add(new Object[] {UUID.randomUUID(), id, episode.seasonNumber(), episode.episodeNumber(),
+                        episode.title(), episode.description(), episode.duration(), episode.releaseDate(),
+                        episode.thumbnailUrl(), episode.videoUrl(), now, now});
+            }
+            return new PendingContent(line, id, content, genres, episodes);
+        }
+    }
+}
\ No newline at end of file
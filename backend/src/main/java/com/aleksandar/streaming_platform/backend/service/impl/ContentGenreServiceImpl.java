@@ -2,8 +2,10 @@ package com.aleksandar.streaming_platform.backend.service.impl;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
 import com.aleksandar.streaming_platform.backend.dto.GenreDto;
+import com.aleksandar.streaming_platform.backend.event.ContentChangedEvent;
 import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
 import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import com.aleksandar.streaming_platform.backend.mapper.ContentDtoAssembler;
 import com.aleksandar.streaming_platform.backend.mapper.DtoMapper;
 import com.aleksandar.streaming_platform.backend.model.Content;
 import com.aleksandar.streaming_platform.backend.model.ContentGenre;
@@ -12,10 +14,20 @@ import com.aleksandar.streaming_platform.backend.repository.ContentGenreReposito
 import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
 import com.aleksandar.streaming_platform.backend.repository.GenreRepository;
 import com.aleksandar.streaming_platform.backend.service.ContentGenreService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,19 +35,30 @@ import java.util.stream.Collectors;
 @Transactional
 public class ContentGenreServiceImpl implements ContentGenreService {
     
+    private static final String INSERT_CONTENT_GENRE = "INSERT INTO content_genres (content_id, genre_id) VALUES (?, ?)";
+    
     private final ContentGenreRepository contentGenreRepository;
     private final ContentRepository contentRepository;
     private final GenreRepository genreRepository;
     private final DtoMapper dtoMapper;
+    private final ContentDtoAssembler contentDtoAssembler;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
     
     public ContentGenreServiceImpl(ContentGenreRepository contentGenreRepository,
                                   ContentRepository contentRepository,
                                   GenreRepository genreRepository,
-                                  DtoMapper dtoMapper) {
+                                  DtoMapper dtoMapper,
+                                  ContentDtoAssembler contentDtoAssembler,
+                                  JdbcTemplate jdbcTemplate,
+                                  ApplicationEventPublisher eventPublisher) {
         this.contentGenreRepository = contentGenreRepository;
         this.contentRepository = contentRepository;
         this.genreRepository = genreRepository;
         this.dtoMapper = dtoMapper;
+        this.contentDtoAssembler = contentDtoAssembler;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -57,6 +80,7 @@ public class ContentGenreServiceImpl implements ContentGenreService {
         contentGenre.setGenre(genre);
         
         contentGenreRepository.save(contentGenre);
+        contentChanged(List.of(contentId));
     }
     
     @Override
@@ -65,6 +89,7 @@ public class ContentGenreServiceImpl implements ContentGenreService {
             throw new BusinessLogicException("Genre not assigned to content");
         }
         contentGenreRepository.deleteByContentIdAndGenreId(contentId, genreId);
+        contentChanged(List.of(contentId));
     }
     
     @Override
@@ -84,7 +109,7 @@ public class ContentGenreServiceImpl implements ContentGenreService {
         List<Content> contents = contentGenres.stream()
                 .map(ContentGenre::getContent)
                 .collect(Collectors.toList());
-        return dtoMapper.toContentDtoList(contents);
+        return contentDtoAssembler.toContentDtoList(contents);
     }
     
     @Override
@@ -107,14 +132,17 @@ public class ContentGenreServiceImpl implements ContentGenreService {
     
     @Override
     public void removeAllGenresFromContent(UUID contentId) {
-        List<ContentGenre> contentGenres = contentGenreRepository.findByContentId(contentId);
-        contentGenreRepository.deleteAll(contentGenres);
+        if (contentGenreRepository.deleteAllByContentId(contentId) > 0) {
+            contentChanged(List.of(contentId));
+        }
     }
     
     @Override
     public void removeContentFromAllGenres(UUID genreId) {
-        List<ContentGenre> contentGenres = contentGenreRepository.findByGenreId(genreId);
-        contentGenreRepository.deleteAll(contentGenres);
+        List<UUID> contentIds = contentGenreRepository.findContentIdsByGenreId(genreId);
+        if (contentGenreRepository.deleteAllByGenreId(genreId) > 0) {
+            contentChanged(contentIds);
+        }
     }
     
     @Override
@@ -124,30 +152,101 @@ public class ContentGenreServiceImpl implements ContentGenreService {
         List<Content> contents = contentGenres.stream()
                 .map(ContentGenre::getContent)
                 .collect(Collectors.toList());
-        return dtoMapper.toContentDtoList(contents);
+        return contentDtoAssembler.toContentDtoList(contents);
     }
     
     @Override
     public void bulkAssignGenresToContent(UUID contentId, List<UUID> genreIds) {
-        // Validate content exists
-        Content content = contentRepository.findById(contentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Content", "id", contentId));
+        if (!contentRepository.existsById(contentId)) {
+            throw new ResourceNotFoundException("Content", "id", contentId);
+        }
+        Set<UUID> genres = requireGenres(genreIds);
         
-        // Remove existing genre assignments
-        removeAllGenresFromContent(contentId);
+        // Stale links go in one DELETE, only the missing ones are inserted
+        if (genres.isEmpty()) {
+            contentGenreRepository.deleteAllByContentId(contentId);
+        } else {
+            contentGenreRepository.deleteByContentIdAndGenreIdNotIn(contentId, genres);
+        }
+        
+        Set<UUID> missing = new LinkedHashSet<>(genres);
+        missing.removeAll(contentGenreRepository.findGenreIdsByContentId(contentId));
+        insertLinks(missing.stream()
+                .map(genreId -> new Object[] {contentId, genreId})
+                .collect(Collectors.toList()));
+        
+        contentChanged(List.of(contentId));
+    }
+    
+    @Override
+    public void assignGenresToContents(List<UUID> contentIds, List<UUID> genreIds) {
+        Set<UUID> contents = new LinkedHashSet<>(contentIds);
+        Set<UUID> existingContents = new HashSet<>(contentRepository.findIdsByIdIn(contents));
+        for (UUID contentId : contents) {
+            if (!existingContents.contains(contentId)) {
+                throw new ResourceNotFoundException("Content", "id", contentId);
+            }
+        }
+        Set<UUID> genres = requireGenres(genreIds);
         
-        // Add new genre assignments
-        for (UUID genreId : genreIds) {
-            Genre genre = genreRepository.findById(genreId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Genre", "id", genreId));
-            
-            ContentGenre contentGenre = new ContentGenre();
-            contentGenre.setContentId(contentId);
-            contentGenre.setGenreId(genreId);
-            contentGenre.setContent(content);
-            contentGenre.setGenre(genre);
-            
-            contentGenreRepository.save(contentGenre);
+        Map<UUID, Set<UUID>> existingLinks = new HashMap<>();
+        for (ContentGenreRepository.ContentGenrePair pair : contentGenreRepository.findPairsByContentIdIn(contents)) {
+            existingLinks.computeIfAbsent(pair.getContentId(), key -> new HashSet<>()).add(pair.getGenreId());
         }
+        
+        List<Object[]> rows = new ArrayList<>();
+        List<UUID> changed = new ArrayList<>();
+        for (UUID contentId : contents) {
+            Set<UUID> linked = existingLinks.getOrDefault(contentId, Set.of());
+            int before = rows.size();
+            for (UUID genreId : genres) {
+                if (!linked.contains(genreId)) {
+                    rows.add(new Object[] {contentId, genreId});
+                }
+            }
+            if (rows.size() > before) {
+                changed.add(contentId);
+            }
+        }
+        
+        insertLinks(rows);
+        if (!changed.isEmpty()) {
+            contentChanged(changed);
+        }
+    }
+    
+    /**
+     * Checks all genres with a single query and returns them without duplicates
+     */
+    private Set<UUID> requireGenres(Collection<UUID> genreIds) {
+        Set<UUID> genres = new LinkedHashSet<>(genreIds);
+        if (genres.isEmpty()) {
+            return genres;
+        }
+        
+        Set<UUID> found = genreRepository.findAllById(genres).stream()
+                .map(Genre::getId)
+                .collect(Collectors.toSet());
+        for (UUID genreId : genres) {
+            if (!found.contains(genreId)) {
+                throw new ResourceNotFoundException("Genre", "id", genreId);
+            }
+        }
+        return genres;
+    }
+    
+    /**
+     * Inserts the links as one JDBC batch, which the Postgres driver sends as a
+     * multi-row insert when reWriteBatchedInserts is enabled
+     */
+    private void insertLinks(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CONTENT_GENRE, rows);
+        }
+    }
+    
+    private void contentChanged(Collection<UUID> contentIds) {
+        contentRepository.touchAll(contentIds, LocalDateTime.now());
+        contentIds.forEach(contentId -> eventPublisher.publishEvent(new ContentChangedEvent(contentId)));
     }
 }
\ No newline at end of file
@@ -1,26 +1,47 @@
 package com.aleksandar.streaming_platform.backend.service.impl;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
+import com.aleksandar.streaming_platform.backend.dto.ContentSuggestionDto;
 import com.aleksandar.streaming_platform.backend.dto.CreateContentDto;
+import com.aleksandar.streaming_platform.backend.dto.CursorSliceDto;
 import com.aleksandar.streaming_platform.backend.dto.EpisodeDto;
 import com.aleksandar.streaming_platform.backend.dto.GenreDto;
+import com.aleksandar.streaming_platform.backend.dto.ResourceVersion;
+import com.aleksandar.streaming_platform.backend.event.ContentChangedEvent;
 import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
 import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import com.aleksandar.streaming_platform.backend.mapper.ContentDtoAssembler;
 import com.aleksandar.streaming_platform.backend.mapper.DtoMapper;
 import com.aleksandar.streaming_platform.backend.model.*;
+import com.aleksandar.streaming_platform.backend.pagination.SeekCursor;
 import com.aleksandar.streaming_platform.backend.repository.*;
+import com.aleksandar.streaming_platform.backend.search.ContentSearchIndex;
+import com.aleksandar.streaming_platform.backend.search.ContentSuggestionIndex;
+import com.aleksandar.streaming_platform.backend.service.ContentGenreService;
 import com.aleksandar.streaming_platform.backend.service.ContentService;
+import com.aleksandar.streaming_platform.backend.service.PopularityService;
+import com.aleksandar.streaming_platform.backend.service.RecommendationService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -31,20 +52,41 @@ public class ContentServiceImpl implements ContentService {
     private final EpisodeRepository episodeRepository;
     private final GenreRepository genreRepository;
     private final ContentGenreRepository contentGenreRepository;
+    private final ContentGenreService contentGenreService;
     private final DtoMapper dtoMapper;
+    private final ContentDtoAssembler contentDtoAssembler;
+    private final ContentSearchIndex contentSearchIndex;
+    private final ContentSuggestionIndex contentSuggestionIndex;
+    private final PopularityService popularityService;
+    private final RecommendationService recommendationService;
+    private final ApplicationEventPublisher eventPublisher;
     
     public ContentServiceImpl(ContentRepository contentRepository,
                              ContentTypeRepository contentTypeRepository,
                              EpisodeRepository episodeRepository,
                              GenreRepository genreRepository,
                              ContentGenreRepository contentGenreRepository,
-                             DtoMapper dtoMapper) {
+                             ContentGenreService contentGenreService,
+                             DtoMapper dtoMapper,
+                             ContentDtoAssembler contentDtoAssembler,
+                             ContentSearchIndex contentSearchIndex,
+                             ContentSuggestionIndex contentSuggestionIndex,
+                             PopularityService popularityService,
+                             RecommendationService recommendationService,
+                             ApplicationEventPublisher eventPublisher) {
         this.contentRepository = contentRepository;
         this.contentTypeRepository = contentTypeRepository;
         this.episodeRepository = episodeRepository;
         this.genreRepository = genreRepository;
         this.contentGenreRepository = contentGenreRepository;
+        this.contentGenreService = contentGenreService;
         this.dtoMapper = dtoMapper;
+        this.contentDtoAssembler = contentDtoAssembler;
+        this.contentSearchIndex = contentSearchIndex;
+        this.contentSuggestionIndex = contentSuggestionIndex;
+        this.popularityService = popularityService;
+        this.recommendationService = recommendationService;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -56,87 +98,134 @@ public class ContentServiceImpl implements ContentService {
                 .orElseThrow(() -> new ResourceNotFoundException("ContentType", "id", createContentDto.contentTypeId()));
         content.setContentType(contentType);
         
-        Content savedContent = contentRepository.save(content);
+        // Flushed so the content row exists before the genre links are batch inserted over JDBC
+        Content savedContent = contentRepository.saveAndFlush(content);
         
-        // Add genres if provided
         if (createContentDto.genreIds() != null && !createContentDto.genreIds().isEmpty()) {
-            for (UUID genreId : createContentDto.genreIds()) {
-                Genre genre = genreRepository.findById(genreId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Genre", "id", genreId));
-                
-                ContentGenre contentGenre = new ContentGenre();
-                contentGenre.setContentId(savedContent.getId());
-                contentGenre.setGenreId(genreId);
-                contentGenre.setContent(savedContent);
-                contentGenre.setGenre(genre);
-                contentGenreRepository.save(contentGenre);
-            }
+            // Also publishes the ContentChangedEvent
+            contentGenreService.bulkAssignGenresToContent(savedContent.getId(), createContentDto.genreIds());
+        } else {
+            eventPublisher.publishEvent(new ContentChangedEvent(savedContent.getId()));
         }
         
-        return dtoMapper.toContentDto(savedContent);
+        // A freshly created content has no episodes yet
+        return dtoMapper.toContentDto(savedContent, 0);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Optional<ContentDto> getContentById(UUID id) {
         return contentRepository.findById(id)
-                .map(dtoMapper::toContentDto);
+                .map(contentDtoAssembler::toContentDto);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getContentVersion(UUID id) {
+        // The content response embeds its type, genres and episode count, so all of them are part of its version
+        return contentRepository.findVersionById(id)
+                .map(version -> new ResourceVersion(
+                        Stream.of(version.getUpdatedAt(), version.getContentTypeUpdatedAt(), version.getGenresUpdatedAt())
+                                .filter(Objects::nonNull)
+                                .max(Comparator.naturalOrder())
+                                .orElse(null),
+                        version.getEpisodeCount()));
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getAllContent(Pageable pageable) {
         Page<Content> contents = contentRepository.findAll(pageable);
-        return contents.map(dtoMapper::toContentDto);
+        return contentDtoAssembler.toContentDtoPage(contents);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSliceDto<ContentDto> getAllContentByCursor(String cursor, int size) {
+        SeekCursor position = SeekCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, SeekCursor.clampSize(size));
+        Slice<Content> contents = position == null
+                ? contentRepository.findFirstSliceOrderByCreatedAtDesc(limit)
+                : contentRepository.findSliceCreatedBefore(position.sortKey(), position.id(), limit);
+        return SeekCursor.toSliceDto(contents, contentDtoAssembler.toContentDtoList(contents.getContent()),
+                content -> new SeekCursor(content.getCreatedAt(), content.getId()));
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getAvailableContent(Pageable pageable) {
         Page<Content> contents = contentRepository.findByIsAvailable(true, pageable);
-        return contents.map(dtoMapper::toContentDto);
+        return contentDtoAssembler.toContentDtoPage(contents);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getContentByType(String typeName, Pageable pageable) {
         Page<Content> contents = contentRepository.findByContentTypeName(typeName, pageable);
-        return contents.map(dtoMapper::toContentDto);
+        return contentDtoAssembler.toContentDtoPage(contents);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getContentByGenre(String genreName, Pageable pageable) {
         Page<Content> contents = contentRepository.findByGenreName(genreName, pageable);
-        return contents.map(dtoMapper::toContentDto);
+        return contentDtoAssembler.toContentDtoPage(contents);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> searchContentByTitle(String title, Pageable pageable) {
-        Page<Content> contents = contentRepository.findByTitleContainingIgnoreCase(title, pageable);
-        return contents.map(dtoMapper::toContentDto);
+        // Until the search index has finished loading, fall back to a plain substring match
+        if (!contentSearchIndex.isReady()) {
+            Page<Content> contents = contentRepository.findByTitleContainingIgnoreCase(title, pageable);
+            return contentDtoAssembler.toContentDtoPage(contents);
+        }
+        
+        // Results are ordered by relevance, so any sort requested in the pageable is ignored
+        Page<UUID> matches = contentSearchIndex.search(title, pageable);
+        List<Content> contents = findAllInOrder(matches.getContent());
+        
+        return new PageImpl<>(contentDtoAssembler.toContentDtoList(contents), pageable, matches.getTotalElements());
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ContentSuggestionDto> suggestContent(String query, int limit) {
+        // Served entirely from memory, so no transaction (and no connection) is needed
+        return contentSuggestionIndex.suggest(query, limit);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getContentByLanguage(String language, Pageable pageable) {
         Page<Content> contents = contentRepository.findByLanguage(language, pageable);
-        return contents.map(dtoMapper::toContentDto);
+        return contentDtoAssembler.toContentDtoPage(contents);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getContentByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable) {
         Page<Content> contents = contentRepository.findByReleaseDateBetween(startDate, endDate, pageable);
-        return contents.map(dtoMapper::toContentDto);
+        return contentDtoAssembler.toContentDtoPage(contents);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getRecentContent(Pageable pageable) {
         Page<Content> contents = contentRepository.findAvailableContentOrderByReleaseDateDesc(pageable);
-        return contents.map(dtoMapper::toContentDto);
+        return contentDtoAssembler.toContentDtoPage(contents);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSliceDto<ContentDto> getRecentContentByCursor(String cursor, int size) {
+        SeekCursor position = SeekCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, SeekCursor.clampSize(size));
+        Slice<Content> contents = position == null
+                ? contentRepository.findFirstAvailableSliceOrderByCreatedAtDesc(limit)
+                : contentRepository.findAvailableSliceCreatedBefore(position.sortKey(), position.id(), limit);
+        return SeekCursor.toSliceDto(contents, contentDtoAssembler.toContentDtoList(contents.getContent()),
+                content -> new SeekCursor(content.getCreatedAt(), content.getId()));
     }
     
     @Override
@@ -160,7 +249,8 @@ public class ContentServiceImpl implements ContentService {
         }
         
         Content savedContent = contentRepository.save(existingContent);
-        return dtoMapper.toContentDto(savedContent);
+        eventPublisher.publishEvent(new ContentChangedEvent(savedContent.getId()));
+        return contentDtoAssembler.toContentDto(savedContent);
     }
     
     @Override
@@ -169,6 +259,7 @@ public class ContentServiceImpl implements ContentService {
             throw new ResourceNotFoundException("Content", "id", id);
         }
         contentRepository.deleteById(id);
+        eventPublisher.publishEvent(new ContentChangedEvent(id));
     }
     
     @Override
@@ -178,7 +269,8 @@ public class ContentServiceImpl implements ContentService {
         
         content.setAvailable(!content.isAvailable());
         Content savedContent = contentRepository.save(content);
-        return dtoMapper.toContentDto(savedContent);
+        eventPublisher.publishEvent(new ContentChangedEvent(contentId));
+        return contentDtoAssembler.toContentDto(savedContent);
     }
     
     @Override
@@ -191,18 +283,8 @@ public class ContentServiceImpl implements ContentService {
     @Override
     @Transactional(readOnly = true)
     public Page<GenreDto> getGenresByContentId(UUID contentId, Pageable pageable) {
-        List<ContentGenre> contentGenres = contentGenreRepository.findByContentId(contentId);
-        // Convert to page manually since ContentGenreRepository doesn't support pagination
-        List<GenreDto> genreDtos = contentGenres.stream()
-                .map(contentGenre -> dtoMapper.toGenreDto(contentGenre.getGenre()))
-                .collect(Collectors.toList());
-        
-        // Create a page from the list (simple implementation for pagination)
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), genreDtos.size());
-        List<GenreDto> pageContent = start >= genreDtos.size() ? List.of() : genreDtos.subList(start, end);
-        
-        return new PageImpl<>(pageContent, pageable, genreDtos.size());
+        Page<Genre> genres = contentGenreRepository.findGenresByContentId(contentId, pageable);
+        return genres.map(dtoMapper::toGenreDto);
     }
     
     @Override
@@ -222,6 +304,8 @@ public class ContentServiceImpl implements ContentService {
         contentGenre.setContent(content);
         contentGenre.setGenre(genre);
         contentGenreRepository.save(contentGenre);
+        contentRepository.touch(contentId, LocalDateTime.now());
+        eventPublisher.publishEvent(new ContentChangedEvent(contentId));
     }
     
     @Override
@@ -230,30 +314,47 @@ public class ContentServiceImpl implements ContentService {
             throw new BusinessLogicException("Genre not assigned to content");
         }
         contentGenreRepository.deleteByContentIdAndGenreId(contentId, genreId);
+        contentRepository.touch(contentId, LocalDateTime.now());
+        eventPublisher.publishEvent(new ContentChangedEvent(contentId));
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getPopularContent(Pageable pageable) {
-        // TODO: Implement popularity algorithm based on watchlist counts, ratings, etc.
-        // For now, return recent available content
-        Page<Content> contents = contentRepository.findAvailableContentOrderByReleaseDateDesc(pageable);
-        return contents.map(dtoMapper::toContentDto);
+        Page<UUID> ranking = popularityService.getRanking(PopularitySubject.CONTENT, pageable);
+        if (ranking.getTotalElements() == 0) {
+            // Nothing has been ranked yet, fall back to recent available content
+            Page<Content> contents = contentRepository.findAvailableContentOrderByReleaseDateDesc(pageable);
+            return contentDtoAssembler.toContentDtoPage(contents);
+        }
+        
+        // The ranking only holds available content, so the page is used as is
+        List<Content> contents = findAllInOrder(ranking.getContent());
+        return new PageImpl<>(contentDtoAssembler.toContentDtoList(contents), pageable, ranking.getTotalElements());
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getContentRecommendations(UUID userId, Pageable pageable) {
-        // TODO: Implement recommendation algorithm based on user preferences, watch history, etc.
-        // For now, return recent available content
-        Page<Content> contents = contentRepository.findAvailableContentOrderByReleaseDateDesc(pageable);
-        return contents.map(dtoMapper::toContentDto);
+        return recommendationService.getRecommendations(userId, pageable);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> filterContent(String typeName, String genreName, Pageable pageable) {
         Page<Content> contents = contentRepository.findByTypeAndGenre(typeName, genreName, pageable);
-        return contents.map(dtoMapper::toContentDto);
+        return contentDtoAssembler.toContentDtoPage(contents);
+    }
+    
+    /**
+     * Loads the given contents in one query and returns them in the order of the ids
+     */
+    private List<Content> findAllInOrder(List<UUID> ids) {
+        Map<UUID, Content> contentsById = contentRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Content::getId, Function.identity()));
+        return ids.stream()
+                .map(contentsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -1,23 +1,35 @@
 package com.aleksandar.streaming_platform.backend.service.impl;
 
+import com.aleksandar.streaming_platform.backend.catalog.CatalogCache;
+import com.aleksandar.streaming_platform.backend.catalog.CatalogSnapshot;
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
 import com.aleksandar.streaming_platform.backend.dto.ContentTypeDto;
+import com.aleksandar.streaming_platform.backend.dto.ResourceVersion;
+import com.aleksandar.streaming_platform.backend.event.CatalogChangedEvent;
 import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
 import com.aleksandar.streaming_platform.backend.exception.DuplicateResourceException;
 import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import com.aleksandar.streaming_platform.backend.mapper.ContentDtoAssembler;
 import com.aleksandar.streaming_platform.backend.mapper.DtoMapper;
 import com.aleksandar.streaming_platform.backend.model.Content;
 import com.aleksandar.streaming_platform.backend.model.ContentType;
+import com.aleksandar.streaming_platform.backend.model.PopularitySubject;
 import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
 import com.aleksandar.streaming_platform.backend.repository.ContentTypeRepository;
+import com.aleksandar.streaming_platform.backend.service.PopularityService;
 import com.aleksandar.streaming_platform.backend.service.ContentTypeService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -26,13 +38,25 @@ public class ContentTypeServiceImpl implements ContentTypeService {
     private final ContentTypeRepository contentTypeRepository;
     private final ContentRepository contentRepository;
     private final DtoMapper dtoMapper;
+    private final ContentDtoAssembler contentDtoAssembler;
+    private final PopularityService popularityService;
+    private final CatalogCache catalogCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     public ContentTypeServiceImpl(ContentTypeRepository contentTypeRepository,
                                  ContentRepository contentRepository,
-                                 DtoMapper dtoMapper) {
+                                 DtoMapper dtoMapper,
+                                 ContentDtoAssembler contentDtoAssembler,
+                                 PopularityService popularityService,
+                                 CatalogCache catalogCache,
+                                 ApplicationEventPublisher eventPublisher) {
         this.contentTypeRepository = contentTypeRepository;
         this.contentRepository = contentRepository;
         this.dtoMapper = dtoMapper;
+        this.contentDtoAssembler = contentDtoAssembler;
+        this.popularityService = popularityService;
+        this.catalogCache = catalogCache;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -44,42 +68,45 @@ public class ContentTypeServiceImpl implements ContentTypeService {
         ContentType contentType = new ContentType();
         contentType.setName(contentTypeDto.name());
         ContentType savedContentType = contentTypeRepository.save(contentType);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Table.CONTENT_TYPES));
         return dtoMapper.toContentTypeDto(savedContentType);
     }
     
+    // Served from the catalog snapshot, so a hit should not open a transaction
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<ContentTypeDto> getContentTypeById(UUID id) {
-        return contentTypeRepository.findById(id)
-                .map(dtoMapper::toContentTypeDto);
+        return catalogCache.contentTypes().findById(id);
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<ContentTypeDto> getContentTypeByName(String name) {
-        return contentTypeRepository.findByName(name)
-                .map(dtoMapper::toContentTypeDto);
+        return catalogCache.contentTypes().findByName(name);
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<ContentTypeDto> getAllContentTypes(Pageable pageable) {
-        Page<ContentType> contentTypes = contentTypeRepository.findAll(pageable);
-        return contentTypes.map(dtoMapper::toContentTypeDto);
+        return catalogCache.contentTypes().findAll(pageable);
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<ContentTypeDto> getAllContentTypesOrderedByName(Pageable pageable) {
-        Page<ContentType> contentTypes = contentTypeRepository.findAllOrderByName(pageable);
-        return contentTypes.map(dtoMapper::toContentTypeDto);
+        return catalogCache.contentTypes().findAll(pageable);
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<ContentTypeDto> searchContentTypesByName(String name, Pageable pageable) {
-        Page<ContentType> contentTypes = contentTypeRepository.findByNameContainingIgnoreCase(name, pageable);
-        return contentTypes.map(dtoMapper::toContentTypeDto);
+        return catalogCache.contentTypes().searchByName(name, pageable);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ResourceVersion getContentTypesVersion() {
+        return catalogCache.contentTypes().version();
     }
     
     @Override
@@ -94,6 +121,7 @@ public class ContentTypeServiceImpl implements ContentTypeService {
         
         existingContentType.setName(contentTypeDto.name());
         ContentType savedContentType = contentTypeRepository.save(existingContentType);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Table.CONTENT_TYPES));
         return dtoMapper.toContentTypeDto(savedContentType);
     }
     
@@ -109,6 +137,7 @@ public class ContentTypeServiceImpl implements ContentTypeService {
         }
         
         contentTypeRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Table.CONTENT_TYPES));
     }
     
     @Override
@@ -121,14 +150,14 @@ public class ContentTypeServiceImpl implements ContentTypeService {
     @Transactional(readOnly = true)
     public Page<ContentDto> getContentByTypeId(UUID typeId, Pageable pageable) {
         Page<Content> contents = contentRepository.findByContentTypeId(typeId, pageable);
-        return contents.map(dtoMapper::toContentDto);
+        return contentDtoAssembler.toContentDtoPage(contents);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getContentByTypeName(String typeName, Pageable pageable) {
         Page<Content> contents = contentRepository.findByContentTypeName(typeName, pageable);
-        return contents.map(dtoMapper::toContentDto);
+        return contentDtoAssembler.toContentDtoPage(contents);
     }
     
     @Override
@@ -140,8 +169,18 @@ public class ContentTypeServiceImpl implements ContentTypeService {
     @Override
     @Transactional(readOnly = true)
     public Page<ContentTypeDto> getPopularContentTypes(Pageable pageable) {
-        // TODO: Implement popularity algorithm based on content count, user preferences, etc.
-        // For now, return all content types ordered by name
-        return getAllContentTypesOrderedByName(pageable);
+        Page<UUID> ranking = popularityService.getRanking(PopularitySubject.CONTENT_TYPE, pageable);
+        if (ranking.getTotalElements() == 0) {
+            // Nothing has been ranked yet, fall back to alphabetical order
+            return getAllContentTypesOrderedByName(pageable);
+        }
+        
+        CatalogSnapshot<ContentTypeDto> contentTypes = catalogCache.contentTypes();
+        List<ContentTypeDto> contentTypeDtos = ranking.getContent().stream()
+                .map(contentTypes::findById)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+        
+        return new PageImpl<>(contentTypeDtos, pageable, ranking.getTotalElements());
     }
 }
\ No newline at end of file
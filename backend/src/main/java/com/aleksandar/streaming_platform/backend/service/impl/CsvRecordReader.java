@@ -0,0 +1,145 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader that hands out one record at a time. Quoted fields may
+ * contain commas, doubled quotes and line breaks; records end on LF or CRLF.
+ * A single record is capped in size so a stray quote cannot pull the rest of
+ * the body into memory.
+ */
+class CsvRecordReader {
+
+    private final Reader reader;
+    private final int maxRecordLength;
+
+    private long line = 1;
+    private long recordLine;
+    private int pushedBack = -2;
+
+    CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Returns the next record's fields, or null at the end of the input.
+     * Blank lines are skipped.
+     */
+    List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean afterQuote = false;
+        int length = 0;
+        recordLine = line;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (quoted) {
+                    throw new CsvFormatException(recordLine, "Unterminated quoted field");
+                }
+                if (fields.isEmpty() && field.isEmpty() && length == 0) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+
+            if (++length > maxRecordLength) {
+                throw new CsvFormatException(recordLine, "Record exceeds " + maxRecordLength + " characters");
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    quoted = false;
+                    afterQuote = true;
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> {
+                    // A doubled quote inside a quoted field is a literal quote
+                    if (afterQuote) {
+                        field.append('"');
+                    }
+                    quoted = true;
+                    afterQuote = false;
+                }
+                case ',' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    afterQuote = false;
+                }
+                case '\r' -> {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                    line++;
+                    if (fields.isEmpty() && field.isEmpty() && !afterQuote) {
+                        recordLine = line;
+                        length = 0;
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                case '\n' -> {
+                    line++;
+                    if (fields.isEmpty() && field.isEmpty() && !afterQuote) {
+                        recordLine = line;
+                        length = 0;
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                default -> {
+                    field.append((char) c);
+                    afterQuote = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Line on which the record last returned by {@link #next()} started
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    static class CsvFormatException extends IOException {
+
+        private final long line;
+
+        CsvFormatException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+
+        long line() {
+            return line;
+        }
+    }
+}
\ No newline at end of file
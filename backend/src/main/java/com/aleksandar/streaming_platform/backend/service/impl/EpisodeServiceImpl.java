@@ -1,24 +1,40 @@
 package com.aleksandar.streaming_platform.backend.service.impl;
 
+import com.aleksandar.streaming_platform.backend.config.CacheNames;
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
 import com.aleksandar.streaming_platform.backend.dto.CreateEpisodeDto;
 import com.aleksandar.streaming_platform.backend.dto.EpisodeDto;
+import com.aleksandar.streaming_platform.backend.dto.EpisodeSummaryDto;
+import com.aleksandar.streaming_platform.backend.dto.EpisodeTreeDto;
+import com.aleksandar.streaming_platform.backend.event.ContentChangedEvent;
 import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
 import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import com.aleksandar.streaming_platform.backend.mapper.ContentDtoAssembler;
 import com.aleksandar.streaming_platform.backend.mapper.DtoMapper;
 import com.aleksandar.streaming_platform.backend.model.Content;
 import com.aleksandar.streaming_platform.backend.model.Episode;
 import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
 import com.aleksandar.streaming_platform.backend.repository.EpisodeRepository;
+import com.aleksandar.streaming_platform.backend.repository.WatchProgressRepository;
 import com.aleksandar.streaming_platform.backend.service.EpisodeService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -26,14 +42,26 @@ public class EpisodeServiceImpl implements EpisodeService {
     
     private final EpisodeRepository episodeRepository;
     private final ContentRepository contentRepository;
+    private final WatchProgressRepository watchProgressRepository;
     private final DtoMapper dtoMapper;
+    private final ContentDtoAssembler contentDtoAssembler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
     
     public EpisodeServiceImpl(EpisodeRepository episodeRepository,
                              ContentRepository contentRepository,
-                             DtoMapper dtoMapper) {
+                             WatchProgressRepository watchProgressRepository,
+                             DtoMapper dtoMapper,
+                             ContentDtoAssembler contentDtoAssembler,
+                             ApplicationEventPublisher eventPublisher,
+                             CacheManager cacheManager) {
         this.episodeRepository = episodeRepository;
         this.contentRepository = contentRepository;
+        this.watchProgressRepository = watchProgressRepository;
         this.dtoMapper = dtoMapper;
+        this.contentDtoAssembler = contentDtoAssembler;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
     }
     
     @Override
@@ -56,6 +84,7 @@ public class EpisodeServiceImpl implements EpisodeService {
         episode.setContent(content);
         
         Episode savedEpisode = episodeRepository.save(episode);
+        eventPublisher.publishEvent(new ContentChangedEvent(content.getId()));
         return dtoMapper.toEpisodeDto(savedEpisode);
     }
     
@@ -130,15 +159,18 @@ public class EpisodeServiceImpl implements EpisodeService {
         existingEpisode.setVideoUrl(episodeDto.videoUrl());
         
         Episode savedEpisode = episodeRepository.save(existingEpisode);
+        eventPublisher.publishEvent(new ContentChangedEvent(savedEpisode.getContent().getId()));
         return dtoMapper.toEpisodeDto(savedEpisode);
     }
     
     @Override
     public void deleteEpisode(UUID id) {
-        if (!episodeRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Episode", "id", id);
-        }
+        UUID contentId = episodeRepository.findContentIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Episode", "id", id));
         episodeRepository.deleteById(id);
+        // watch_progress has no foreign key to episodes
+        watchProgressRepository.deleteAllByContentIdAndEpisodeId(contentId, id);
+        eventPublisher.publishEvent(new ContentChangedEvent(contentId));
     }
     
     @Override
@@ -147,6 +179,42 @@ public class EpisodeServiceImpl implements EpisodeService {
         return episodeRepository.findDistinctSeasonNumbersByContentIdList(contentId);
     }
     
+    /**
+     * The whole season and episode outline of a content, built from one summary
+     * query and cached per content until an episode or content change evicts it
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.EPISODE_TREES, key = "#contentId")
+    public EpisodeTreeDto getEpisodeTree(UUID contentId) {
+        List<EpisodeRepository.EpisodeSummary> episodes = episodeRepository.findSummariesByContentId(contentId);
+        // Only an empty outline has to be told apart from unknown content
+        if (episodes.isEmpty() && !contentRepository.existsById(contentId)) {
+            throw new ResourceNotFoundException("Content", "id", contentId);
+        }
+        
+        Map<Integer, List<EpisodeSummaryDto>> episodesBySeason = episodes.stream()
+                .collect(Collectors.groupingBy(EpisodeRepository.EpisodeSummary::getSeasonNumber, LinkedHashMap::new,
+                        Collectors.mapping(dtoMapper::toEpisodeSummaryDto, Collectors.toUnmodifiableList())));
+        List<EpisodeTreeDto.Season> seasons = episodesBySeason.entrySet().stream()
+                .map(season -> new EpisodeTreeDto.Season(season.getKey(), season.getValue()))
+                .collect(Collectors.toUnmodifiableList());
+        return new EpisodeTreeDto(contentId, episodes.size(), seasons);
+    }
+    
+    /**
+     * Runs after commit for local changes, and straight away for changes
+     * received from other nodes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onContentChanged(ContentChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheNames.EPISODE_TREES);
+        if (cache != null) {
+            cache.evictIfPresent(event.contentId());
+        }
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Long getTotalEpisodeCountByContentId(UUID contentId) {
@@ -162,69 +230,23 @@ public class EpisodeServiceImpl implements EpisodeService {
     @Override
     @Transactional(readOnly = true)
     public EpisodeDto getNextEpisode(UUID contentId, Integer currentSeason, Integer currentEpisode) {
-        // First try to find next episode in same season
-        List<Episode> sameSeason = episodeRepository.findEpisodesByContentIdAndSeasonNumberOrderByEpisodeNumber(
-                contentId, currentSeason);
-        
-        for (Episode episode : sameSeason) {
-            if (episode.getEpisodeNumber() > currentEpisode) {
-                return dtoMapper.toEpisodeDto(episode);
-            }
-        }
-        
-        // If no next episode in same season, find first episode of next season
-        List<Integer> seasons = episodeRepository.findDistinctSeasonNumbersByContentIdList(contentId);
-        for (Integer season : seasons) {
-            if (season > currentSeason) {
-                List<Episode> nextSeason = episodeRepository.findEpisodesByContentIdAndSeasonNumberOrderByEpisodeNumber(
-                        contentId, season);
-                if (!nextSeason.isEmpty()) {
-                    return dtoMapper.toEpisodeDto(nextSeason.get(0));
-                }
-            }
-        }
-        
-        return null; // No next episode found
+        // Later in the same season, else the first episode of the next season, in one indexed lookup
+        return episodeRepository.findEpisodesAfter(contentId, currentSeason, currentEpisode, PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .map(dtoMapper::toEpisodeDto)
+                .orElse(null); // No next episode found
     }
     
     @Override
     @Transactional(readOnly = true)
     public EpisodeDto getPreviousEpisode(UUID contentId, Integer currentSeason, Integer currentEpisode) {
-        // First try to find previous episode in same season
-        List<Episode> sameSeason = episodeRepository.findEpisodesByContentIdAndSeasonNumberOrderByEpisodeNumber(
-                contentId, currentSeason);
-        
-        Episode previousEpisode = null;
-        for (Episode episode : sameSeason) {
-            if (episode.getEpisodeNumber() >= currentEpisode) {
-                break;
-            }
-            previousEpisode = episode;
-        }
-        
-        if (previousEpisode != null) {
-            return dtoMapper.toEpisodeDto(previousEpisode);
-        }
-        
-        // If no previous episode in same season, find last episode of previous season
-        List<Integer> seasons = episodeRepository.findDistinctSeasonNumbersByContentIdList(contentId);
-        Integer prevSeason = null;
-        for (Integer season : seasons) {
-            if (season >= currentSeason) {
-                break;
-            }
-            prevSeason = season;
-        }
-        
-        if (prevSeason != null) {
-            List<Episode> prevSeasonEpisodes = episodeRepository.findEpisodesByContentIdAndSeasonNumberOrderByEpisodeNumber(
-                    contentId, prevSeason);
-            if (!prevSeasonEpisodes.isEmpty()) {
-                return dtoMapper.toEpisodeDto(prevSeasonEpisodes.get(prevSeasonEpisodes.size() - 1));
-            }
-        }
-        
-        return null; // No previous episode found
+        // Earlier in the same season, else the last episode of the previous season
+        return episodeRepository.findEpisodesBefore(contentId, currentSeason, currentEpisode, PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .map(dtoMapper::toEpisodeDto)
+                .orElse(null); // No previous episode found
     }
     
     @Override
@@ -233,7 +255,7 @@ public class EpisodeServiceImpl implements EpisodeService {
         Episode episode = episodeRepository.findById(episodeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Episode", "id", episodeId));
         
-        return dtoMapper.toContentDto(episode.getContent());
+        return contentDtoAssembler.toContentDto(episode.getContent());
     }
     
     @Override
@@ -1,22 +1,30 @@
 package com.aleksandar.streaming_platform.backend.service.impl;
 
+import com.aleksandar.streaming_platform.backend.catalog.CatalogCache;
+import com.aleksandar.streaming_platform.backend.catalog.CatalogSnapshot;
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
 import com.aleksandar.streaming_platform.backend.dto.GenreDto;
+import com.aleksandar.streaming_platform.backend.dto.ResourceVersion;
+import com.aleksandar.streaming_platform.backend.event.CatalogChangedEvent;
 import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
 import com.aleksandar.streaming_platform.backend.exception.DuplicateResourceException;
 import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import com.aleksandar.streaming_platform.backend.mapper.ContentDtoAssembler;
 import com.aleksandar.streaming_platform.backend.mapper.DtoMapper;
 import com.aleksandar.streaming_platform.backend.model.Content;
-import com.aleksandar.streaming_platform.backend.model.ContentGenre;
 import com.aleksandar.streaming_platform.backend.model.Genre;
+import com.aleksandar.streaming_platform.backend.model.PopularitySubject;
 import com.aleksandar.streaming_platform.backend.repository.ContentGenreRepository;
 import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
 import com.aleksandar.streaming_platform.backend.repository.GenreRepository;
+import com.aleksandar.streaming_platform.backend.service.PopularityService;
 import com.aleksandar.streaming_platform.backend.service.GenreService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -32,15 +40,27 @@ public class GenreServiceImpl implements GenreService {
     private final ContentRepository contentRepository;
     private final ContentGenreRepository contentGenreRepository;
     private final DtoMapper dtoMapper;
+    private final ContentDtoAssembler contentDtoAssembler;
+    private final PopularityService popularityService;
+    private final CatalogCache catalogCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     public GenreServiceImpl(GenreRepository genreRepository,
                            ContentRepository contentRepository,
                            ContentGenreRepository contentGenreRepository,
-                           DtoMapper dtoMapper) {
+                           DtoMapper dtoMapper,
+                           ContentDtoAssembler contentDtoAssembler,
+                           PopularityService popularityService,
+                           CatalogCache catalogCache,
+                           ApplicationEventPublisher eventPublisher) {
         this.genreRepository = genreRepository;
         this.contentRepository = contentRepository;
         this.contentGenreRepository = contentGenreRepository;
         this.dtoMapper = dtoMapper;
+        this.contentDtoAssembler = contentDtoAssembler;
+        this.popularityService = popularityService;
+        this.catalogCache = catalogCache;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -52,42 +72,45 @@ public class GenreServiceImpl implements GenreService {
         Genre genre = new Genre();
         genre.setName(genreDto.name());
         Genre savedGenre = genreRepository.save(genre);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Table.GENRES));
         return dtoMapper.toGenreDto(savedGenre);
     }
     
+    // Served from the catalog snapshot, so a hit should not open a transaction
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<GenreDto> getGenreById(UUID id) {
-        return genreRepository.findById(id)
-                .map(dtoMapper::toGenreDto);
+        return catalogCache.genres().findById(id);
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<GenreDto> getGenreByName(String name) {
-        return genreRepository.findByName(name)
-                .map(dtoMapper::toGenreDto);
+        return catalogCache.genres().findByName(name);
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<GenreDto> getAllGenres(Pageable pageable) {
-        Page<Genre> genres = genreRepository.findAll(pageable);
-        return genres.map(dtoMapper::toGenreDto);
+        return catalogCache.genres().findAll(pageable);
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<GenreDto> getAllGenresOrderedByName(Pageable pageable) {
-        Page<Genre> genres = genreRepository.findAllOrderByName(pageable);
-        return genres.map(dtoMapper::toGenreDto);
+        return catalogCache.genres().findAll(pageable);
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<GenreDto> searchGenresByName(String name, Pageable pageable) {
-        Page<Genre> genres = genreRepository.findByNameContainingIgnoreCase(name, pageable);
-        return genres.map(dtoMapper::toGenreDto);
+        return catalogCache.genres().searchByName(name, pageable);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ResourceVersion getGenresVersion() {
+        return catalogCache.genres().version();
     }
     
     @Override
@@ -103,6 +126,7 @@ public class GenreServiceImpl implements GenreService {
         
         existingGenre.setName(genreDto.name());
         Genre savedGenre = genreRepository.save(existingGenre);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Table.GENRES));
         return dtoMapper.toGenreDto(savedGenre);
     }
     
@@ -119,6 +143,7 @@ public class GenreServiceImpl implements GenreService {
         }
         
         genreRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Table.GENRES));
     }
     
     @Override
@@ -130,25 +155,15 @@ public class GenreServiceImpl implements GenreService {
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getContentByGenreId(UUID genreId, Pageable pageable) {
-        List<ContentGenre> contentGenres = contentGenreRepository.findByGenreId(genreId);
-        // Convert to page manually since ContentGenreRepository doesn't support pagination
-        List<ContentDto> contentDtos = contentGenres.stream()
-                .map(contentGenre -> dtoMapper.toContentDto(contentGenre.getContent()))
-                .collect(Collectors.toList());
-        
-        // Create a page from the list (simple implementation for pagination)
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), contentDtos.size());
-        List<ContentDto> pageContent = start >= contentDtos.size() ? List.of() : contentDtos.subList(start, end);
-        
-        return new PageImpl<>(pageContent, pageable, contentDtos.size());
+        Page<Content> contents = contentGenreRepository.findContentByGenreId(genreId, pageable);
+        return contentDtoAssembler.toContentDtoPage(contents);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getContentByGenreName(String genreName, Pageable pageable) {
         Page<Content> contents = contentRepository.findByGenreName(genreName, pageable);
-        return contents.map(dtoMapper::toContentDto);
+        return contentDtoAssembler.toContentDtoPage(contents);
     }
     
     @Override
@@ -160,25 +175,25 @@ public class GenreServiceImpl implements GenreService {
     @Override
     @Transactional(readOnly = true)
     public Page<GenreDto> getPopularGenres(Pageable pageable) {
-        // TODO: Implement popularity algorithm based on content count, user preferences, etc.
-        // For now, return all genres ordered by name
-        return getAllGenresOrderedByName(pageable);
+        Page<UUID> ranking = popularityService.getRanking(PopularitySubject.GENRE, pageable);
+        if (ranking.getTotalElements() == 0) {
+            // Nothing has been ranked yet, fall back to alphabetical order
+            return getAllGenresOrderedByName(pageable);
+        }
+        
+        CatalogSnapshot<GenreDto> genres = catalogCache.genres();
+        List<GenreDto> genreDtos = ranking.getContent().stream()
+                .map(genres::findById)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+        
+        return new PageImpl<>(genreDtos, pageable, ranking.getTotalElements());
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<GenreDto> getGenresByContentId(UUID contentId, Pageable pageable) {
-        List<ContentGenre> contentGenres = contentGenreRepository.findByContentId(contentId);
-        // Convert to page manually since ContentGenreRepository doesn't support pagination
-        List<GenreDto> genreDtos = contentGenres.stream()
-                .map(contentGenre -> dtoMapper.toGenreDto(contentGenre.getGenre()))
-                .collect(Collectors.toList());
-        
-        // Create a page from the list (simple implementation for pagination)
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), genreDtos.size());
-        List<GenreDto> pageContent = start >= genreDtos.size() ? List.of() : genreDtos.subList(start, end);
-        
-        return new PageImpl<>(pageContent, pageable, genreDtos.size());
+        Page<Genre> genres = contentGenreRepository.findGenresByContentId(contentId, pageable);
+        return genres.map(dtoMapper::toGenreDto);
     }
 }
\ No newline at end of file
@@ -0,0 +1,255 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
+import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import com.aleksandar.streaming_platform.backend.media.ImageCache;
+import com.aleksandar.streaming_platform.backend.media.ImageVariant;
+import com.aleksandar.streaming_platform.backend.media.MediaStorage;
+import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
+import com.aleksandar.streaming_platform.backend.service.ImageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders content thumbnails as JPEG at a fixed set of widths. Requested widths
+ * are rounded up to the next configured width so the number of variants per
+ * content stays bounded, and images are never scaled up. Remote thumbnails are only
+ * fetched over https from the configured hosts, without following redirects.
+ */
+@Service
+public class ImageServiceImpl implements ImageService {
+
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ContentRepository contentRepository;
+    private final MediaStorage mediaStorage;
+    private final ImageCache imageCache;
+    private final HttpClient httpClient;
+
+    private final List<Integer> widths;
+    private final float jpegQuality;
+    private final long maxSourceBytes;
+    private final long maxSourcePixels;
+    private final Set<String> allowedHosts;
+
+    // One lock per variant being rendered, so concurrent first requests render it once
+    private final Map<String, Object> renderLocks = new ConcurrentHashMap<>();
+
+    public ImageServiceImpl(ContentRepository contentRepository,
+                            MediaStorage mediaStorage,
+                            ImageCache imageCache,
+                            @Value("${media.images.widths:160,320,480,640,960,1280}") List<Integer> widths,
+                            @Value("${media.images.jpeg-quality:0.85}") float jpegQuality,
+                            @Value("${media.images.max-source-size:20MB}") DataSize maxSourceSize,
+                            @Value("${media.images.max-source-pixels:50000000}") long maxSourcePixels,
+                            @Value("${media.images.allowed-hosts:}") List<String> allowedHosts) {
+        this.contentRepository = contentRepository;
+        this.mediaStorage = mediaStorage;
+        this.imageCache = imageCache;
+        this.widths = widths.stream().sorted().distinct().toList();
+        this.jpegQuality = jpegQuality;
+        this.maxSourceBytes = maxSourceSize.toBytes();
+        this.maxSourcePixels = maxSourcePixels;
+        this.allowedHosts = allowedHosts.stream()
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        // A redirect could lead to a host that is not allowed
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(FETCH_TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ImageVariant getThumbnailVariant(UUID contentId, Integer width) {
+        ContentRepository.ContentThumbnail thumbnail = contentRepository.findThumbnailById(contentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Content", "id", contentId));
+        if (thumbnail.getThumbnailUrl() == null || thumbnail.getThumbnailUrl().isBlank()) {
+            throw new ResourceNotFoundException("Content has no thumbnail: " + contentId);
+        }
+
+        int largestWidth = widths.get(widths.size() - 1);
+        int variantWidth = width == null ? largestWidth : widths.stream()
+                .filter(candidate -> candidate >= width)
+                .findFirst()
+                .orElse(largestWidth);
+
+        long version = thumbnail.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        return new ImageVariant(contentId, variantWidth, version, thumbnail.getThumbnailUrl());
+    }
+
+    @Override
+    public Resource render(ImageVariant variant) {
+        String key = variant.cacheKey();
+        Resource cached = imageCache.open(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Object lock = renderLocks.computeIfAbsent(key, ignored -> new Object());
+        synchronized (lock) {
+            try {
+                cached = imageCache.open(key);
+                if (cached != null) {
+                    return cached;
+                }
+                BufferedImage source = read(variant.sourceLocation(), variant.width());
+                byte[] image = encode(resize(source, variant.width()));
+                imageCache.put(key, image);
+                // Served from memory, the cached copy may already be evicted again
+                return new ByteArrayResource(image);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not render thumbnail of content " + variant.contentId(), e);
+            } finally {
+                renderLocks.remove(key);
+            }
+        }
+    }
+
+    private BufferedImage read(String location, int targetWidth) throws IOException {
+        try (InputStream in = open(location); ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                throw new BusinessLogicException("Thumbnail is not a supported image: " + location);
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                int width = reader.getWidth(0);
+                if ((long) width * reader.getHeight(0) > maxSourcePixels) {
+                    throw new BusinessLogicException("Thumbnail exceeds " + maxSourcePixels + " pixels: " + location);
+                }
+
+                // Decoding only every n-th pixel keeps memory proportional to the target size
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, width / (targetWidth * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private InputStream open(String location) throws IOException {
+        if (!mediaStorage.isExternal(location)) {
+            return Files.newInputStream(mediaStorage.resolve(location));
+        }
+
+        URI uri = URI.create(location);
+        if (!"https".equalsIgnoreCase(uri.getScheme()) || uri.getHost() == null
+                || !allowedHosts.contains(uri.getHost().toLowerCase(Locale.ROOT))) {
+            throw new BusinessLogicException("Thumbnail host is not allowed: " + location);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(FETCH_TIMEOUT)
+                .GET()
+                .build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new IOException("Fetching " + location + " returned status " + response.statusCode());
+                }
+                byte[] image = body.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxSourceBytes + 1));
+                if (image.length > maxSourceBytes) {
+                    throw new BusinessLogicException("Thumbnail exceeds " + maxSourceBytes + " bytes: " + location);
+                }
+                return new ByteArrayInputStream(image);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + location, e);
+        }
+    }
+
+    /**
+     * Halves the image until it is close to the target before the final pass;
+     * a single large bilinear downscale would skip most source pixels and alias
+     */
+    private static BufferedImage resize(BufferedImage source, int width) {
+        int targetWidth = Math.min(width, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * (double) targetWidth / source.getWidth()));
+
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(currentWidth / 2, targetWidth);
+            currentHeight = Math.max(currentHeight / 2, targetHeight);
+            current = scale(current, currentWidth, currentHeight);
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        // JPEG has no alpha channel, so transparent areas are flattened onto white
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
\ No newline at end of file
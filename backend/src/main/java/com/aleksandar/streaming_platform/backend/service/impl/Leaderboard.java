@@ -0,0 +1,139 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Scores kept in a sorted set, so updating one entry costs O(log n) and
+ * reading a page never re-sorts the whole board. Excluded ids keep their score
+ * but are left out of the ranking until they are included again.
+ */
+class Leaderboard {
+    
+    private static final double MIN_SCORE = 1e-9;
+    
+    private final Map<UUID, Double> scores = new HashMap<>();
+    private final TreeSet<Entry> ranking = new TreeSet<>(Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparing(Entry::id));
+    private final Set<UUID> excluded = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    void add(UUID id, double delta) {
+        lock.writeLock().lock();
+        try {
+            Double current = scores.get(id);
+            put(id, (current != null ? current : 0) + delta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void set(UUID id, double score) {
+        lock.writeLock().lock();
+        try {
+            put(id, score);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            put(id, 0);
+            excluded.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void exclude(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Double score = scores.get(id);
+            if (excluded.add(id) && score != null) {
+                ranking.remove(new Entry(id, score));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void include(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Double score = scores.get(id);
+            if (excluded.remove(id) && score != null) {
+                ranking.add(new Entry(id, score));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    Set<UUID> ids() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(scores.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    Double score(UUID id) {
+        lock.readLock().lock();
+        try {
+            return scores.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    List<UUID> page(long offset, int size) {
+        lock.readLock().lock();
+        try {
+            List<UUID> ids = new ArrayList<>(size);
+            Iterator<Entry> iterator = ranking.iterator();
+            for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+                iterator.next();
+            }
+            while (ids.size() < size && iterator.hasNext()) {
+                ids.add(iterator.next().id());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void put(UUID id, double score) {
+        Double previous = score > MIN_SCORE ? scores.put(id, score) : scores.remove(id);
+        if (previous != null) {
+            ranking.remove(new Entry(id, previous));
+        }
+        if (score > MIN_SCORE && !excluded.contains(id)) {
+            ranking.add(new Entry(id, score));
+        }
+    }
+    
+    private record Entry(UUID id, double score) {}
+}
\ No newline at end of file
@@ -0,0 +1,338 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import com.aleksandar.streaming_platform.backend.dto.MediaPackageDto;
+import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
+import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import com.aleksandar.streaming_platform.backend.mapper.DtoMapper;
+import com.aleksandar.streaming_platform.backend.media.MediaStorage;
+import com.aleksandar.streaming_platform.backend.model.MediaPackage;
+import com.aleksandar.streaming_platform.backend.model.MediaPackageStatus;
+import com.aleksandar.streaming_platform.backend.model.MediaSegment;
+import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
+import com.aleksandar.streaming_platform.backend.repository.EpisodeRepository;
+import com.aleksandar.streaming_platform.backend.repository.MediaPackageRepository;
+import com.aleksandar.streaming_platform.backend.repository.MediaSegmentRepository;
+import com.aleksandar.streaming_platform.backend.service.PackagingService;
+import com.aleksandar.streaming_platform.backend.service.StreamingService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Packages locally stored videos into HLS: fixed-duration MPEG-TS segments plus a
+ * VOD playlist, produced by a local ffmpeg binary on a small dedicated pool.
+ * Every run writes into a new directory named after its package id, so published
+ * manifests and segments never change and can be cached indefinitely.
+ */
+@Service
+public class PackagingServiceImpl implements PackagingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PackagingServiceImpl.class);
+
+    private static final String MANIFEST_FILE = "index.m3u8";
+    private static final String SEGMENT_FILE_PATTERN = "segment_%05d.ts";
+    private static final String LOG_FILE = "ffmpeg.log";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final MediaPackageRepository mediaPackageRepository;
+    private final MediaSegmentRepository mediaSegmentRepository;
+    private final ContentRepository contentRepository;
+    private final EpisodeRepository episodeRepository;
+    private final StreamingService streamingService;
+    private final MediaStorage mediaStorage;
+    private final DtoMapper dtoMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Path outputRoot;
+    private final String ffmpegPath;
+    private final int segmentDuration;
+    private final boolean transcode;
+    private final Duration timeout;
+    private final Duration lease;
+    private final ExecutorService executor;
+
+    // Packages queued or running on this node, whose heartbeat it renews
+    private final Set<UUID> owned = ConcurrentHashMap.newKeySet();
+
+    public PackagingServiceImpl(MediaPackageRepository mediaPackageRepository,
+                                MediaSegmentRepository mediaSegmentRepository,
+                                ContentRepository contentRepository,
+                                EpisodeRepository episodeRepository,
+                                StreamingService streamingService,
+                                MediaStorage mediaStorage,
+                                DtoMapper dtoMapper,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${media.packaging.output-root:media/packages}") String outputRoot,
+                                @Value("${media.packaging.ffmpeg-path:ffmpeg}") String ffmpegPath,
+                                @Value("${media.packaging.segment-duration:6}") int segmentDuration,
+                                @Value("${media.packaging.transcode:true}") boolean transcode,
+                                @Value("${media.packaging.timeout:PT2H}") Duration timeout,
+                                @Value("${media.packaging.lease:PT5M}") Duration lease,
+                                @Value("${media.packaging.concurrency:1}") int concurrency) {
+        this.mediaPackageRepository = mediaPackageRepository;
+        this.mediaSegmentRepository = mediaSegmentRepository;
+        this.contentRepository = contentRepository;
+        this.episodeRepository = episodeRepository;
+        this.streamingService = streamingService;
+        this.mediaStorage = mediaStorage;
+        this.dtoMapper = dtoMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.outputRoot = Path.of(outputRoot).toAbsolutePath().normalize();
+        this.ffmpegPath = ffmpegPath;
+        this.segmentDuration = segmentDuration;
+        this.transcode = transcode;
+        this.timeout = timeout;
+        this.lease = lease;
+        this.executor = Executors.newFixedThreadPool(concurrency,
+                Thread.ofPlatform().name("media-packaging-", 0).daemon(true).factory());
+    }
+
+    /**
+     * Keeps the packages this node has queued or is running from being taken for abandoned
+     */
+    @Scheduled(fixedDelayString = "${media.packaging.heartbeat-interval:PT1M}")
+    public void renewHeartbeats() {
+        if (owned.isEmpty()) {
+            return;
+        }
+        List<UUID> packageIds = List.copyOf(owned);
+        transactionTemplate.executeWithoutResult(status ->
+                mediaPackageRepository.renewHeartbeats(packageIds, LocalDateTime.now()));
+    }
+
+    /**
+     * Unfinished packages whose heartbeat has lapsed belonged to a node that stopped
+     * and will never finish. Packages other nodes are still working on keep a fresh
+     * heartbeat and are left alone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${media.packaging.heartbeat-interval:PT1M}")
+    @Transactional
+    public void failAbandonedPackages() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = mediaPackageRepository.failAbandonedBefore(now.minus(lease), now,
+                "Abandoned by a stopped application node");
+        if (failed > 0) {
+            logger.warn("Marked {} abandoned media packages as failed", failed);
+        }
+    }
+
+    @Override
+    @Transactional
+    public MediaPackageDto packageMedia(UUID mediaId) {
+        String location = streamingService.getVideoLocation(mediaId);
+        if (mediaStorage.isExternal(location)) {
+            throw new BusinessLogicException("Only locally stored videos can be packaged");
+        }
+        Path source = mediaStorage.resolve(location);
+
+        MediaPackage mediaPackage = new MediaPackage();
+        if (contentRepository.existsById(mediaId)) {
+            mediaPackage.setContent(contentRepository.getReferenceById(mediaId));
+        } else {
+            mediaPackage.setEpisode(episodeRepository.getReferenceById(mediaId));
+        }
+        mediaPackage.setStatus(MediaPackageStatus.PENDING);
+        mediaPackage.setSegmentDuration(segmentDuration);
+        MediaPackage savedPackage = mediaPackageRepository.save(mediaPackage);
+
+        // The worker reads the row in its own transaction, so only start once it is committed
+        UUID packageId = savedPackage.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                owned.add(packageId);
+                executor.execute(() -> runPackaging(packageId, source));
+            }
+        });
+
+        return dtoMapper.toMediaPackageDto(savedPackage);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<MediaPackageDto> getPackage(UUID packageId) {
+        return mediaPackageRepository.findById(packageId)
+                .map(dtoMapper::toMediaPackageDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UUID getLatestPackageId(UUID mediaId) {
+        return mediaPackageRepository.findReadyPackageIds(mediaId, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("No packaged stream for media id: " + mediaId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Path resolvePackageFile(UUID packageId, String fileName) {
+        boolean published = MANIFEST_FILE.equals(fileName)
+                ? mediaPackageRepository.findById(packageId)
+                        .filter(mediaPackage -> mediaPackage.getStatus() == MediaPackageStatus.READY)
+                        .isPresent()
+                : mediaSegmentRepository.existsByPackageIdAndFileName(packageId, fileName);
+
+        // Only the manifest and recorded segments are served, never other files of the directory
+        Path file = outputRoot.resolve(packageId.toString()).resolve(fileName);
+        if (!published || !Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Packaged file not found: " + fileName);
+        }
+        return file;
+    }
+
+    /**
+     * Interrupts running packages and gives them a moment to stop their ffmpeg
+     * processes before the JVM exits
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Media packaging did not stop within {} s", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runPackaging(UUID packageId, Path source) {
+        long startTime = System.currentTimeMillis();
+        Path directory = outputRoot.resolve(packageId.toString());
+        Process process = null;
+
+        try {
+            update(packageId, mediaPackage -> mediaPackage.setStatus(MediaPackageStatus.PROCESSING));
+            Files.createDirectories(directory);
+
+            process = new ProcessBuilder(command(source, directory))
+                    .redirectErrorStream(true)
+                    .redirectOutput(directory.resolve(LOG_FILE).toFile())
+                    .start();
+            if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("ffmpeg did not finish within " + timeout);
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("ffmpeg exited with status " + process.exitValue() + ", see " + directory.resolve(LOG_FILE));
+            }
+
+            List<MediaSegment> segments = readPlaylist(directory);
+            update(packageId, mediaPackage -> complete(mediaPackage, segments));
+            logger.info("Packaged {} into {} segments in {} ms", source.getFileName(), segments.size(),
+                    System.currentTimeMillis() - startTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(packageId, "Packaging was interrupted");
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to package {}: {}", source.getFileName(), e.getMessage());
+            fail(packageId, e.getMessage());
+        } finally {
+            // A timed out or interrupted ffmpeg would otherwise keep writing into the package directory
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+            owned.remove(packageId);
+        }
+    }
+
+    private List<String> command(Path source, Path directory) {
+        List<String> command = new ArrayList<>(List.of(ffmpegPath, "-hide_banner", "-nostdin", "-y",
+                "-i", source.toString()));
+        if (transcode) {
+            // Forcing a key frame at every boundary is what makes the segments exactly segmentDuration long
+            command.addAll(List.of("-c:v", "libx264", "-preset", "veryfast", "-c:a", "aac",
+                    "-force_key_frames", "expr:gte(t,n_forced*" + segmentDuration + ")"));
+        } else {
+            // Stream copy is much cheaper but can only cut at the source's existing key frames
+            command.addAll(List.of("-c", "copy"));
+        }
+        command.addAll(List.of("-f", "hls",
+                "-hls_time", String.valueOf(segmentDuration),
+                "-hls_playlist_type", "vod",
+                "-hls_segment_filename", directory.resolve(SEGMENT_FILE_PATTERN).toString(),
+                directory.resolve(MANIFEST_FILE).toString()));
+        return command;
+    }
+
+    /**
+     * Reads the segment list back from the generated playlist, where every
+     * {@code #EXTINF:<duration>,} line is followed by the segment's file name
+     */
+    private static List<MediaSegment> readPlaylist(Path directory) throws IOException {
+        List<MediaSegment> segments = new ArrayList<>();
+        double duration = 0;
+
+        for (String line : Files.readAllLines(directory.resolve(MANIFEST_FILE))) {
+            line = line.trim();
+            if (line.startsWith("#EXTINF:")) {
+                int comma = line.indexOf(',');
+                duration = Double.parseDouble(line.substring("#EXTINF:".length(), comma >= 0 ? comma : line.length()));
+            } else if (!line.isEmpty() && !line.startsWith("#")) {
+                MediaSegment segment = new MediaSegment();
+                segment.setSequenceNumber(segments.size());
+                segment.setDuration(duration);
+                segment.setFileName(line);
+                segment.setSizeBytes(Files.size(directory.resolve(line)));
+                segments.add(segment);
+            }
+        }
+
+        if (segments.isEmpty()) {
+            throw new IOException("ffmpeg produced a playlist without segments");
+        }
+        return segments;
+    }
+
+    private void complete(MediaPackage mediaPackage, List<MediaSegment> segments) {
+        segments.forEach(segment -> segment.setMediaPackage(mediaPackage));
+        mediaSegmentRepository.saveAll(segments);
+
+        mediaPackage.setStatus(MediaPackageStatus.READY);
+        mediaPackage.setSegmentCount(segments.size());
+        mediaPackage.setTotalDuration(segments.stream().mapToDouble(MediaSegment::getDuration).sum());
+        mediaPackage.setCompletedAt(LocalDateTime.now());
+    }
+
+    private void fail(UUID packageId, String errorMessage) {
+        update(packageId, mediaPackage -> {
+            mediaPackage.setStatus(MediaPackageStatus.FAILED);
+            mediaPackage.setErrorMessage(errorMessage);
+            mediaPackage.setCompletedAt(LocalDateTime.now());
+        });
+    }
+
+    /**
+     * Applies the change in its own transaction; a package removed together with
+     * its content or episode in the meantime is skipped
+     */
+    private void update(UUID packageId, Consumer<MediaPackage> change) {
+        transactionTemplate.executeWithoutResult(status -> mediaPackageRepository.findById(packageId).ifPresent(change));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,390 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import com.aleksandar.streaming_platform.backend.event.CatalogChangedEvent;
+import com.aleksandar.streaming_platform.backend.event.ContentChangedEvent;
+import com.aleksandar.streaming_platform.backend.event.WatchlistChangedEvent;
+import com.aleksandar.streaming_platform.backend.model.PopularityScore;
+import com.aleksandar.streaming_platform.backend.model.PopularitySubject;
+import com.aleksandar.streaming_platform.backend.repository.ContentGenreRepository;
+import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
+import com.aleksandar.streaming_platform.backend.repository.ContentTypeRepository;
+import com.aleksandar.streaming_platform.backend.repository.GenreRepository;
+import com.aleksandar.streaming_platform.backend.repository.PopularityScoreRepository;
+import com.aleksandar.streaming_platform.backend.repository.WatchlistRepository;
+import com.aleksandar.streaming_platform.backend.service.PopularityService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks content, genres and content types by time-decayed watchlist activity.
+ * Scores use forward decay: an event at time t adds e^(λ·(t − landmark)), so older
+ * events lose weight relative to newer ones without ever rewriting existing scores.
+ * Leaderboards live in memory. Every node only sees the watchlist changes it handles
+ * itself, so it adds the weight it recorded since the last snapshot to the shared
+ * {@code popularity_scores} rows instead of overwriting them, then reloads the rows so
+ * all nodes rank the same totals, at most one snapshot interval behind. Unavailable
+ * content keeps its score but is left out of the content ranking.
+ */
+@Service
+public class PopularityServiceImpl implements PopularityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PopularityServiceImpl.class);
+
+    // The stored score decays from its own scored_at to the new one before the delta is added
+    private static final String POSTGRES_ADD =
+            "INSERT INTO popularity_scores (subject_type, subject_id, score, scored_at) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (subject_id, subject_type) DO UPDATE SET score = popularity_scores.score * " +
+            "EXP(CAST(? AS DOUBLE PRECISION) * EXTRACT(EPOCH FROM popularity_scores.scored_at - EXCLUDED.scored_at)) " +
+            "+ EXCLUDED.score, scored_at = EXCLUDED.scored_at";
+    private static final String MERGE_ADD =
+            "MERGE INTO popularity_scores p USING (VALUES (CAST(? AS VARCHAR(20)), CAST(? AS UUID), " +
+            "CAST(? AS DOUBLE PRECISION), CAST(? AS TIMESTAMP))) AS d (subject_type, subject_id, score, scored_at) " +
+            "ON p.subject_type = d.subject_type AND p.subject_id = d.subject_id " +
+            "WHEN MATCHED THEN UPDATE SET score = p.score * " +
+            "EXP(CAST(? AS DOUBLE PRECISION) * DATEDIFF(MILLISECOND, d.scored_at, p.scored_at) / 1000.0) + d.score, " +
+            "scored_at = d.scored_at " +
+            "WHEN NOT MATCHED THEN INSERT (subject_type, subject_id, score, scored_at) " +
+            "VALUES (d.subject_type, d.subject_id, d.score, d.scored_at)";
+    private static final String DELETE_SCORE = "DELETE FROM popularity_scores WHERE subject_type = ? AND subject_id = ?";
+
+    private final PopularityScoreRepository popularityScoreRepository;
+    private final WatchlistRepository watchlistRepository;
+    private final ContentRepository contentRepository;
+    private final ContentGenreRepository contentGenreRepository;
+    private final GenreRepository genreRepository;
+    private final ContentTypeRepository contentTypeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<PopularitySubject, Leaderboard> leaderboards = new EnumMap<>(PopularitySubject.class);
+    // Weight recorded on this node since the last snapshot, in landmark units
+    private final Map<PopularitySubject, Map<UUID, Double>> pendingDeltas = new EnumMap<>(PopularitySubject.class);
+    private final Map<PopularitySubject, Set<UUID>> droppedIds = new EnumMap<>(PopularitySubject.class);
+
+    private final LocalDateTime landmark = LocalDateTime.now();
+    private final double decayRatePerSecond;
+
+    private volatile String addSql;
+
+    public PopularityServiceImpl(PopularityScoreRepository popularityScoreRepository,
+                                WatchlistRepository watchlistRepository,
+                                ContentRepository contentRepository,
+                                ContentGenreRepository contentGenreRepository,
+                                GenreRepository genreRepository,
+                                ContentTypeRepository contentTypeRepository,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${popularity.half-life:7d}") Duration halfLife) {
+        this.popularityScoreRepository = popularityScoreRepository;
+        this.watchlistRepository = watchlistRepository;
+        this.contentRepository = contentRepository;
+        this.contentGenreRepository = contentGenreRepository;
+        this.genreRepository = genreRepository;
+        this.contentTypeRepository = contentTypeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.decayRatePerSecond = Math.log(2) / halfLife.toSeconds();
+
+        for (PopularitySubject subject : PopularitySubject.values()) {
+            leaderboards.put(subject, new Leaderboard());
+            pendingDeltas.put(subject, new ConcurrentHashMap<>());
+            droppedIds.put(subject, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (popularityScoreRepository.count() == 0) {
+            seed();
+        }
+        int loaded = reload();
+        logger.info("Loaded {} popularity scores", loaded);
+
+        // Catch up with catalogue changes made while the scores were not being maintained
+        Set<UUID> available = new HashSet<>(contentRepository.findAvailableIds());
+        Set<UUID> unavailable = new HashSet<>(contentRepository.findUnavailableIds());
+        Leaderboard contentBoard = leaderboards.get(PopularitySubject.CONTENT);
+        // Excluded up front, so scores other nodes add later never rank unavailable content
+        unavailable.forEach(contentBoard::exclude);
+        for (UUID contentId : contentBoard.ids()) {
+            if (!available.contains(contentId) && !unavailable.contains(contentId)) {
+                drop(PopularitySubject.CONTENT, contentId);
+            }
+        }
+        retain(PopularitySubject.GENRE, genreRepository.findAllIds());
+        retain(PopularitySubject.CONTENT_TYPE, contentTypeRepository.findAllIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWatchlistChanged(WatchlistChangedEvent event) {
+        // A removal takes back the weight its addition contributed, not the current one
+        double delta = (event.added() ? 1 : -1) * growth(event.addedAt());
+
+        record(PopularitySubject.CONTENT, event.contentId(), delta);
+        contentRepository.findContentTypeIdById(event.contentId())
+                .ifPresent(contentTypeId -> record(PopularitySubject.CONTENT_TYPE, contentTypeId, delta));
+        contentGenreRepository.findGenreIdsByContentId(event.contentId())
+                .forEach(genreId -> record(PopularitySubject.GENRE, genreId, delta));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        Leaderboard contentBoard = leaderboards.get(PopularitySubject.CONTENT);
+        contentRepository.findIsAvailableById(event.contentId()).ifPresentOrElse(available -> {
+            if (available) {
+                contentBoard.include(event.contentId());
+            } else {
+                contentBoard.exclude(event.contentId());
+            }
+        }, () -> drop(PopularitySubject.CONTENT, event.contentId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.table() == CatalogChangedEvent.Table.GENRES) {
+            retain(PopularitySubject.GENRE, genreRepository.findAllIds());
+        } else {
+            retain(PopularitySubject.CONTENT_TYPE, contentTypeRepository.findAllIds());
+        }
+    }
+
+    @Override
+    public Page<UUID> getRanking(PopularitySubject subject, Pageable pageable) {
+        Leaderboard leaderboard = leaderboards.get(subject);
+        List<UUID> ids = leaderboard.page(pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(ids, pageable, leaderboard.size());
+    }
+
+    /**
+     * Adds the weight recorded on this node to the shared scores, then reloads them so
+     * the weight other nodes added shows up here. Each subject is written in its own
+     * transaction, so a failure only puts back the deltas whose writes were rolled back.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${popularity.snapshot-interval:PT5M}",
+            initialDelayString = "${popularity.snapshot-interval:PT5M}")
+    public void snapshot() {
+        RuntimeException failure = null;
+        try {
+            writeDeltas();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        // Deltas that failed to write are pending again, so reloading keeps them
+        reload();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        try {
+            writeDeltas();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to snapshot popularity scores on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private void writeDeltas() {
+        LocalDateTime now = LocalDateTime.now();
+        double decay = 1 / growth(now);
+        int written = 0;
+        RuntimeException failure = null;
+
+        for (PopularitySubject subject : PopularitySubject.values()) {
+            Map<UUID, Double> deltas = drain(pendingDeltas.get(subject));
+            Set<UUID> dropped = droppedIds.get(subject);
+            Set<UUID> droppedNow = new HashSet<>(dropped);
+            dropped.removeAll(droppedNow);
+            if (deltas.isEmpty() && droppedNow.isEmpty()) {
+                continue;
+            }
+
+            try {
+                written += transactionTemplate.execute(status -> write(subject, deltas, droppedNow, decay, now));
+            } catch (RuntimeException e) {
+                // Put the deltas back so the next snapshot retries them
+                Map<UUID, Double> pending = pendingDeltas.get(subject);
+                deltas.forEach((id, delta) -> pending.merge(id, delta, Double::sum));
+                dropped.addAll(droppedNow);
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (written > 0) {
+            logger.debug("Snapshotted {} popularity scores", written);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private int write(PopularitySubject subject, Map<UUID, Double> deltas, Set<UUID> dropped,
+                      double decay, LocalDateTime now) {
+        List<Object[]> additions = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> {
+            if (!dropped.contains(id)) {
+                additions.add(new Object[] {subject.name(), id, delta * decay, now, decayRatePerSecond});
+            }
+        });
+        List<Object[]> deletions = dropped.stream()
+                .map(id -> new Object[] {subject.name(), id})
+                .collect(Collectors.toList());
+
+        jdbcTemplate.batchUpdate(addSql(), additions);
+        jdbcTemplate.batchUpdate(DELETE_SCORE, deletions);
+        return additions.size() + deletions.size();
+    }
+
+    /**
+     * Replaces the leaderboards with the shared scores plus the deltas this node has not
+     * written yet. A delta recorded while the reload runs may be missed until the next one.
+     */
+    private int reload() {
+        Map<PopularitySubject, Map<UUID, Double>> stored = new EnumMap<>(PopularitySubject.class);
+        for (PopularitySubject subject : PopularitySubject.values()) {
+            stored.put(subject, new HashMap<>());
+        }
+        List<PopularityScore> scores = popularityScoreRepository.findAll();
+        for (PopularityScore score : scores) {
+            stored.get(score.getSubjectType())
+                    .put(score.getSubjectId(), score.getScore() * growth(score.getScoredAt()));
+        }
+
+        for (PopularitySubject subject : PopularitySubject.values()) {
+            Leaderboard leaderboard = leaderboards.get(subject);
+            Map<UUID, Double> pending = pendingDeltas.get(subject);
+            Set<UUID> dropped = droppedIds.get(subject);
+            Map<UUID, Double> scoresOfSubject = stored.get(subject);
+
+            for (UUID id : leaderboard.ids()) {
+                if (!scoresOfSubject.containsKey(id) && !pending.containsKey(id)) {
+                    // Setting rather than removing keeps the id excluded if it is
+                    leaderboard.set(id, 0);
+                }
+            }
+            scoresOfSubject.forEach((id, score) -> {
+                if (!dropped.contains(id)) {
+                    leaderboard.set(id, score + pending.getOrDefault(id, 0.0));
+                }
+            });
+        }
+        return scores.size();
+    }
+
+    /**
+     * First start: rank by the current watchlist counts so the leaderboards are not empty.
+     * Written as absolute scores, so nodes seeding at the same time do not add up.
+     */
+    private void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PopularityScore> seeded = new ArrayList<>();
+        seeded.addAll(seedScores(PopularitySubject.CONTENT, watchlistRepository.countGroupedByContent(), now));
+        seeded.addAll(seedScores(PopularitySubject.GENRE, watchlistRepository.countGroupedByGenre(), now));
+        seeded.addAll(seedScores(PopularitySubject.CONTENT_TYPE, watchlistRepository.countGroupedByContentType(), now));
+        try {
+            transactionTemplate.executeWithoutResult(status -> popularityScoreRepository.saveAll(seeded));
+            logger.info("Seeded popularity scores from watchlist counts");
+        } catch (DataAccessException e) {
+            logger.info("Popularity scores were seeded by another node: {}", e.getMessage());
+        }
+    }
+
+    private static List<PopularityScore> seedScores(PopularitySubject subject,
+                                                    List<WatchlistRepository.WatchlistCount> counts,
+                                                    LocalDateTime now) {
+        List<PopularityScore> scores = new ArrayList<>(counts.size());
+        for (WatchlistRepository.WatchlistCount count : counts) {
+            PopularityScore score = new PopularityScore();
+            score.setSubjectType(subject);
+            score.setSubjectId(count.getSubjectId());
+            score.setScore(count.getWatchlistCount());
+            score.setScoredAt(now);
+            scores.add(score);
+        }
+        return scores;
+    }
+
+    private static Map<UUID, Double> drain(Map<UUID, Double> deltas) {
+        Map<UUID, Double> drained = new HashMap<>();
+        for (UUID id : List.copyOf(deltas.keySet())) {
+            Double delta = deltas.remove(id);
+            if (delta != null) {
+                drained.put(id, delta);
+            }
+        }
+        return drained;
+    }
+
+    private void record(PopularitySubject subject, UUID id, double delta) {
+        leaderboards.get(subject).add(id, delta);
+        pendingDeltas.get(subject).merge(id, delta, Double::sum);
+    }
+
+    private void drop(PopularitySubject subject, UUID id) {
+        leaderboards.get(subject).remove(id);
+        pendingDeltas.get(subject).remove(id);
+        droppedIds.get(subject).add(id);
+    }
+
+    /**
+     * Drops every entry whose subject no longer exists
+     */
+    private void retain(PopularitySubject subject, Collection<UUID> existingIds) {
+        Set<UUID> existing = new HashSet<>(existingIds);
+        for (UUID id : leaderboards.get(subject).ids()) {
+            if (!existing.contains(id)) {
+                drop(subject, id);
+            }
+        }
+    }
+
+    private String addSql() {
+        if (addSql == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            addSql = "PostgreSQL".equals(database) ? POSTGRES_ADD : MERGE_ADD;
+        }
+        return addSql;
+    }
+
+    /**
+     * Weight of an event at the given time relative to the landmark
+     */
+    private double growth(LocalDateTime time) {
+        return Math.exp(decayRatePerSecond * Duration.between(landmark, time).toMillis() / 1000.0);
+    }
+}
\ No newline at end of file
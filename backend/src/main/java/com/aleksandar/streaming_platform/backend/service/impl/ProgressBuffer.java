@@ -0,0 +1,176 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind buffer of playback positions, coalesced to the latest heartbeat per
+ * user and media. Users are spread over independently locked stripes so concurrent
+ * heartbeats rarely contend. A drained entry stays readable until its flush is
+ * confirmed, so reads never fall into the gap between the buffer and the database.
+ */
+class ProgressBuffer {
+
+    private final Stripe[] stripes;
+
+    ProgressBuffer(int stripeCount) {
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    void put(Entry entry) {
+        Stripe stripe = stripeOf(entry.userId());
+        synchronized (stripe) {
+            merge(stripe.pending, entry);
+        }
+    }
+
+    /**
+     * Buffered entries of a user, newest state per media, including those being flushed
+     */
+    List<Entry> find(UUID userId) {
+        Stripe stripe = stripeOf(userId);
+        synchronized (stripe) {
+            Map<UUID, Entry> merged = new HashMap<>();
+            Map<UUID, Entry> flushing = stripe.flushing.get(userId);
+            if (flushing != null) {
+                merged.putAll(flushing);
+            }
+            Map<UUID, Entry> pending = stripe.pending.get(userId);
+            if (pending != null) {
+                merged.putAll(pending);
+            }
+            return new ArrayList<>(merged.values());
+        }
+    }
+
+    /**
+     * Moves every pending entry to the flushing state and returns them
+     */
+    List<Entry> drain() {
+        List<Entry> drained = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Map<UUID, Entry> entries : stripe.pending.values()) {
+                    for (Entry entry : entries.values()) {
+                        merge(stripe.flushing, entry);
+                        drained.add(entry);
+                    }
+                }
+                stripe.pending.clear();
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Forgets flushed entries. Entries replaced by a later drain are left alone.
+     */
+    void flushed(List<Entry> entries) {
+        for (Entry entry : entries) {
+            Stripe stripe = stripeOf(entry.userId());
+            synchronized (stripe) {
+                Map<UUID, Entry> flushing = stripe.flushing.get(entry.userId());
+                if (flushing != null && flushing.remove(entry.mediaId(), entry) && flushing.isEmpty()) {
+                    stripe.flushing.remove(entry.userId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns entries of a failed flush to the pending state, unless newer heartbeats replaced them
+     */
+    void restore(List<Entry> entries) {
+        for (Entry entry : entries) {
+            Stripe stripe = stripeOf(entry.userId());
+            synchronized (stripe) {
+                merge(stripe.pending, entry);
+            }
+        }
+        flushed(entries);
+    }
+
+    void removeContent(UUID contentId) {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                removeContent(stripe.pending, contentId);
+                removeContent(stripe.flushing, contentId);
+            }
+        }
+    }
+
+    /**
+     * Drops the entries of the content's episodes that are not among the given ones
+     */
+    void retainEpisodes(UUID contentId, Set<UUID> episodeIds) {
+        Predicate<Entry> removed = entry -> entry.contentId().equals(contentId)
+                && entry.episodeId() != null && !episodeIds.contains(entry.episodeId());
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                removeIf(stripe.pending, removed);
+                removeIf(stripe.flushing, removed);
+            }
+        }
+    }
+
+    void removeUser(UUID userId) {
+        Stripe stripe = stripeOf(userId);
+        synchronized (stripe) {
+            stripe.pending.remove(userId);
+            stripe.flushing.remove(userId);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Map<UUID, Entry> entries : stripe.pending.values()) {
+                    size += entries.size();
+                }
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeOf(UUID userId) {
+        return stripes[Math.floorMod(userId.hashCode(), stripes.length)];
+    }
+
+    private static void merge(Map<UUID, Map<UUID, Entry>> byUser, Entry entry) {
+        byUser.computeIfAbsent(entry.userId(), userId -> new HashMap<>())
+                .merge(entry.mediaId(), entry, (current, next) -> next.updatedAt().isBefore(current.updatedAt()) ? current : next);
+    }
+
+    private static void removeContent(Map<UUID, Map<UUID, Entry>> byUser, UUID contentId) {
+        removeIf(byUser, entry -> entry.contentId().equals(contentId));
+    }
+
+    private static void removeIf(Map<UUID, Map<UUID, Entry>> byUser, Predicate<Entry> predicate) {
+        byUser.values().forEach(entries -> entries.values().removeIf(predicate));
+        byUser.values().removeIf(Map::isEmpty);
+    }
+
+    private static final class Stripe {
+
+        private final Map<UUID, Map<UUID, Entry>> pending = new HashMap<>();
+        private final Map<UUID, Map<UUID, Entry>> flushing = new HashMap<>();
+    }
+
+    record Entry(UUID userId, UUID contentId, UUID episodeId, int positionSeconds, Integer durationSeconds,
+                 boolean completed, LocalDateTime updatedAt) {
+
+        UUID mediaId() {
+            return episodeId != null ? episodeId : contentId;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable item-to-item model used to score recommendation candidates.
+ * Similarity between two contents is the cosine of their watchlist co-occurrence;
+ * only the strongest neighbours of each content are kept. Genre affinity adds
+ * the share of a user's watchlist that falls into each genre of a candidate.
+ */
+final class RecommendationModel {
+
+    private static final Comparator<ScoredContent> BY_SCORE = Comparator.comparingDouble(ScoredContent::score)
+            .thenComparing(ScoredContent::contentId);
+
+    private final Map<UUID, List<ScoredContent>> neighbours;
+    private final Map<UUID, List<UUID>> genresByContent;
+    private final Map<UUID, List<UUID>> contentByGenre;
+    private final Set<UUID> availableContent;
+    private final double genreWeight;
+
+    private RecommendationModel(Map<UUID, List<ScoredContent>> neighbours,
+                                Map<UUID, List<UUID>> genresByContent,
+                                Map<UUID, List<UUID>> contentByGenre,
+                                Set<UUID> availableContent,
+                                double genreWeight) {
+        this.neighbours = neighbours;
+        this.genresByContent = genresByContent;
+        this.contentByGenre = contentByGenre;
+        this.availableContent = availableContent;
+        this.genreWeight = genreWeight;
+    }
+
+    /**
+     * Builds the model, computing the neighbours of every content in parallel
+     */
+    static RecommendationModel build(Map<UUID, Set<UUID>> contentByUser,
+                                     Map<UUID, List<UUID>> genresByContent,
+                                     Set<UUID> availableContent,
+                                     int neighboursPerContent,
+                                     int candidatesPerGenre,
+                                     double genreWeight) {
+        Map<UUID, Set<UUID>> usersByContent = new HashMap<>();
+        contentByUser.forEach((userId, contentIds) -> contentIds.forEach(contentId ->
+                usersByContent.computeIfAbsent(contentId, key -> new HashSet<>()).add(userId)));
+
+        Map<UUID, List<ScoredContent>> neighbours = usersByContent.keySet().parallelStream()
+                .collect(Collectors.toConcurrentMap(Function.identity(), contentId ->
+                        topNeighbours(contentId, usersByContent, contentByUser, neighboursPerContent)));
+
+        // Candidates per genre are the most watchlisted available contents of that genre
+        Map<UUID, List<UUID>> contentByGenre = new HashMap<>();
+        genresByContent.forEach((contentId, genreIds) -> {
+            if (availableContent.contains(contentId)) {
+                genreIds.forEach(genreId -> contentByGenre.computeIfAbsent(genreId, key -> new ArrayList<>()).add(contentId));
+            }
+        });
+        contentByGenre.replaceAll((genreId, contentIds) -> contentIds.stream()
+                .sorted(Comparator.comparingInt((UUID contentId) -> usersByContent.getOrDefault(contentId, Set.of()).size())
+                        .reversed())
+                .limit(candidatesPerGenre)
+                .collect(Collectors.toList()));
+
+        return new RecommendationModel(neighbours, genresByContent, contentByGenre, availableContent, genreWeight);
+    }
+
+    /**
+     * Returns the best {@code limit} contents for a user with the given watchlist, best first
+     */
+    List<ScoredContent> recommend(Set<UUID> watchlist, int limit) {
+        if (watchlist.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, Double> scores = new HashMap<>();
+        for (UUID contentId : watchlist) {
+            for (ScoredContent neighbour : neighbours.getOrDefault(contentId, List.of())) {
+                scores.merge(neighbour.contentId(), neighbour.score(), Double::sum);
+            }
+        }
+
+        Map<UUID, Double> genreAffinity = new HashMap<>();
+        for (UUID contentId : watchlist) {
+            for (UUID genreId : genresByContent.getOrDefault(contentId, List.of())) {
+                genreAffinity.merge(genreId, 1.0 / watchlist.size(), Double::sum);
+            }
+        }
+        for (UUID genreId : genreAffinity.keySet()) {
+            for (UUID contentId : contentByGenre.getOrDefault(genreId, List.of())) {
+                scores.putIfAbsent(contentId, 0.0);
+            }
+        }
+
+        PriorityQueue<ScoredContent> best = new PriorityQueue<>(BY_SCORE);
+        scores.forEach((contentId, coOccurrence) -> {
+            if (watchlist.contains(contentId) || !availableContent.contains(contentId)) {
+                return;
+            }
+
+            double affinity = 0;
+            for (UUID genreId : genresByContent.getOrDefault(contentId, List.of())) {
+                affinity += genreAffinity.getOrDefault(genreId, 0.0);
+            }
+
+            best.add(new ScoredContent(contentId, coOccurrence + genreWeight * affinity));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+
+        List<ScoredContent> recommendations = new ArrayList<>(best);
+        recommendations.sort(BY_SCORE.reversed());
+        return recommendations;
+    }
+
+    private static List<ScoredContent> topNeighbours(UUID contentId,
+                                                     Map<UUID, Set<UUID>> usersByContent,
+                                                     Map<UUID, Set<UUID>> contentByUser,
+                                                     int limit) {
+        Set<UUID> users = usersByContent.get(contentId);
+        Map<UUID, Integer> coOccurrences = new HashMap<>();
+        for (UUID userId : users) {
+            for (UUID otherId : contentByUser.get(userId)) {
+                if (!otherId.equals(contentId)) {
+                    coOccurrences.merge(otherId, 1, Integer::sum);
+                }
+            }
+        }
+
+        PriorityQueue<ScoredContent> best = new PriorityQueue<>(BY_SCORE);
+        coOccurrences.forEach((otherId, count) -> {
+            double similarity = count / Math.sqrt((double) users.size() * usersByContent.get(otherId).size());
+            best.add(new ScoredContent(otherId, similarity));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        return List.copyOf(best);
+    }
+
+    record ScoredContent(UUID contentId, double score) {}
+}
\ No newline at end of file
@@ -0,0 +1,248 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import com.aleksandar.streaming_platform.backend.dto.ContentDto;
+import com.aleksandar.streaming_platform.backend.event.WatchlistChangedEvent;
+import com.aleksandar.streaming_platform.backend.mapper.ContentDtoAssembler;
+import com.aleksandar.streaming_platform.backend.model.Content;
+import com.aleksandar.streaming_platform.backend.repository.ContentGenreRepository;
+import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
+import com.aleksandar.streaming_platform.backend.repository.UserRecommendationRepository;
+import com.aleksandar.streaming_platform.backend.repository.WatchlistRepository;
+import com.aleksandar.streaming_platform.backend.service.RecommendationService;
+import com.aleksandar.streaming_platform.backend.service.impl.RecommendationModel.ScoredContent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputes the top recommendations of every user into {@code user_recommendations},
+ * so serving a page is a single indexed read. The full model is rebuilt in the background
+ * on start-up and on a schedule; in between, a user's rows are recomputed against the current
+ * model whenever their watchlist changes.
+ */
+@Service
+public class RecommendationServiceImpl implements RecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationServiceImpl.class);
+
+    // Selecting from contents skips content deleted since the model was built instead of failing on the FK
+    private static final String INSERT_RECOMMENDATION =
+            "INSERT INTO user_recommendations (user_id, content_id, recommendation_rank, score) " +
+            "SELECT CAST(? AS UUID), c.id, CAST(? AS INTEGER), CAST(? AS DOUBLE PRECISION) FROM contents c WHERE c.id = ?";
+
+    private final UserRecommendationRepository userRecommendationRepository;
+    private final WatchlistRepository watchlistRepository;
+    private final ContentGenreRepository contentGenreRepository;
+    private final ContentRepository contentRepository;
+    private final ContentDtoAssembler contentDtoAssembler;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int recommendationsPerUser;
+    private final int neighboursPerContent;
+    private final int candidatesPerGenre;
+    private final double genreWeight;
+    private final int batchSize;
+    private final int usersPerChunk;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("recommendation-rebuild").daemon(true).factory());
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile RecommendationModel model;
+
+    public RecommendationServiceImpl(UserRecommendationRepository userRecommendationRepository,
+                                     WatchlistRepository watchlistRepository,
+                                     ContentGenreRepository contentGenreRepository,
+                                     ContentRepository contentRepository,
+                                     ContentDtoAssembler contentDtoAssembler,
+                                     JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${recommendations.per-user:50}") int recommendationsPerUser,
+                                     @Value("${recommendations.neighbours-per-content:50}") int neighboursPerContent,
+                                     @Value("${recommendations.candidates-per-genre:100}") int candidatesPerGenre,
+                                     @Value("${recommendations.genre-weight:0.3}") double genreWeight,
+                                     @Value("${recommendations.batch-size:1000}") int batchSize,
+                                     @Value("${recommendations.users-per-chunk:500}") int usersPerChunk) {
+        this.userRecommendationRepository = userRecommendationRepository;
+        this.watchlistRepository = watchlistRepository;
+        this.contentGenreRepository = contentGenreRepository;
+        this.contentRepository = contentRepository;
+        this.contentDtoAssembler = contentDtoAssembler;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.recommendationsPerUser = recommendationsPerUser;
+        this.neighboursPerContent = neighboursPerContent;
+        this.candidatesPerGenre = candidatesPerGenre;
+        this.genreWeight = genreWeight;
+        this.batchSize = batchSize;
+        this.usersPerChunk = usersPerChunk;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ContentDto> getRecommendations(UUID userId, Pageable pageable) {
+        Page<Content> contents = userRecommendationRepository.findRecommendedContentByUserId(userId, pageable);
+        if (contents.getTotalElements() == 0) {
+            // Nothing precomputed for this user yet, fall back to recent available content
+            contents = contentRepository.findAvailableContentOrderByReleaseDateDesc(pageable);
+        }
+        return contentDtoAssembler.toContentDtoPage(contents);
+    }
+
+    /**
+     * Starts a full rebuild off the calling thread, so neither application readiness nor
+     * the scheduler waits for it. A request arriving while a rebuild runs is dropped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${recommendations.rebuild-cron:0 0 3 * * *}")
+    public void rebuildInBackground() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            logger.info("Recommendation rebuild already running, skipping this trigger");
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    rebuildAll();
+                } catch (RuntimeException e) {
+                    logger.error("Recommendation rebuild failed", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuilding.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Rebuilds the model and rewrites every user's rows. Users are written in chunks,
+     * each replaced in its own transaction, so readers keep seeing the previous rows of
+     * users not reached yet and a failing chunk does not undo the ones before it.
+     */
+    @Override
+    public void rebuildAll() {
+        long startTime = System.currentTimeMillis();
+
+        Map<UUID, Set<UUID>> contentByUser = new HashMap<>();
+        for (WatchlistRepository.WatchlistEntry entry : watchlistRepository.findAllEntries()) {
+            contentByUser.computeIfAbsent(entry.getUserId(), key -> new HashSet<>()).add(entry.getContentId());
+        }
+
+        Map<UUID, List<UUID>> genresByContent = new HashMap<>();
+        for (ContentGenreRepository.ContentGenrePair pair : contentGenreRepository.findAllPairs()) {
+            genresByContent.computeIfAbsent(pair.getContentId(), key -> new ArrayList<>()).add(pair.getGenreId());
+        }
+
+        Set<UUID> availableContent = new HashSet<>(contentRepository.findAvailableIds());
+
+        RecommendationModel rebuilt = RecommendationModel.build(contentByUser, genresByContent, availableContent,
+                neighboursPerContent, candidatesPerGenre, genreWeight);
+        long modelTime = System.currentTimeMillis() - startTime;
+
+        // Published before writing so watchlist changes during the rewrite already use it
+        model = rebuilt;
+
+        List<UUID> users = new ArrayList<>(contentByUser.keySet());
+        int failedUsers = 0;
+        for (int from = 0; from < users.size(); from += usersPerChunk) {
+            List<UUID> chunk = users.subList(from, Math.min(from + usersPerChunk, users.size()));
+            Map<UUID, List<ScoredContent>> recommendations = chunk.parallelStream()
+                    .collect(Collectors.toMap(Function.identity(),
+                            userId -> rebuilt.recommend(contentByUser.get(userId), recommendationsPerUser)));
+            try {
+                transactionTemplate.executeWithoutResult(status -> replaceRows(recommendations));
+            } catch (DataAccessException e) {
+                failedUsers += chunk.size();
+                logger.warn("Failed to write recommendations for {} users, keeping their previous rows",
+                        chunk.size(), e);
+            }
+        }
+
+        // Users whose watchlist has emptied since the last rebuild
+        int removed = jdbcTemplate.update("DELETE FROM user_recommendations " +
+                "WHERE user_id NOT IN (SELECT w.user_id FROM watchlists w)");
+
+        logger.info("Rebuilt recommendations for {} users over {} contents ({} failed, {} stale rows removed): " +
+                        "model {} ms, total {} ms", users.size() - failedUsers, availableContent.size(), failedUsers,
+                removed, modelTime, System.currentTimeMillis() - startTime);
+    }
+
+    @Override
+    @Transactional
+    public void refreshUser(UUID userId) {
+        RecommendationModel current = model;
+        if (current == null) {
+            // The start-up build has not finished yet and will cover this user
+            return;
+        }
+
+        Set<UUID> watchlist = new HashSet<>(watchlistRepository.findContentIdsByUserId(userId));
+        List<ScoredContent> scored = current.recommend(watchlist, recommendationsPerUser);
+
+        replaceRows(Map.of(userId, scored));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onWatchlistChanged(WatchlistChangedEvent event) {
+        refreshUser(event.userId());
+    }
+
+    private void replaceRows(Map<UUID, List<ScoredContent>> recommendations) {
+        List<Object[]> users = new ArrayList<>(recommendations.size());
+        List<Object[]> rows = new ArrayList<>();
+        recommendations.forEach((userId, scored) -> {
+            users.add(new Object[] {userId});
+            rows.addAll(toRows(userId, scored));
+        });
+        jdbcTemplate.batchUpdate("DELETE FROM user_recommendations WHERE user_id = ?", users);
+        jdbcTemplate.batchUpdate(INSERT_RECOMMENDATION, rows, batchSize, (statement, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                statement.setObject(i + 1, row[i]);
+            }
+        });
+    }
+
+    private static List<Object[]> toRows(UUID userId, List<ScoredContent> scored) {
+        List<Object[]> rows = new ArrayList<>(scored.size());
+        for (int rank = 0; rank < scored.size(); rank++) {
+            ScoredContent content = scored.get(rank);
+            rows.add(new Object[] {userId, rank, content.score(), content.contentId()});
+        }
+        return rows;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
+import com.aleksandar.streaming_platform.backend.repository.EpisodeRepository;
+import com.aleksandar.streaming_platform.backend.service.StreamingService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Service
+@Transactional(readOnly = true)
+public class StreamingServiceImpl implements StreamingService {
+    
+    private final ContentRepository contentRepository;
+    private final EpisodeRepository episodeRepository;
+    
+    public StreamingServiceImpl(ContentRepository contentRepository, EpisodeRepository episodeRepository) {
+        this.contentRepository = contentRepository;
+        this.episodeRepository = episodeRepository;
+    }
+    
+    @Override
+    public String getVideoLocation(UUID id) {
+        return contentRepository.findVideoUrlById(id)
+                .or(() -> episodeRepository.findVideoUrlById(id))
+                .filter(location -> !location.isBlank())
+                .orElseThrow(() -> new ResourceNotFoundException("Video", "id", id));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,301 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import com.aleksandar.streaming_platform.backend.dto.CreateUploadDto;
+import com.aleksandar.streaming_platform.backend.dto.MediaUploadDto;
+import com.aleksandar.streaming_platform.backend.event.ContentChangedEvent;
+import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
+import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import com.aleksandar.streaming_platform.backend.exception.UploadConflictException;
+import com.aleksandar.streaming_platform.backend.mapper.DtoMapper;
+import com.aleksandar.streaming_platform.backend.media.MediaStorage;
+import com.aleksandar.streaming_platform.backend.model.MediaUpload;
+import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
+import com.aleksandar.streaming_platform.backend.repository.EpisodeRepository;
+import com.aleksandar.streaming_platform.backend.repository.MediaUploadRepository;
+import com.aleksandar.streaming_platform.backend.service.UploadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable uploads in the style of the tus protocol: an upload is created with
+ * its total length, filled by chunks that must start at the current offset and
+ * can be resumed from that offset after a failure. Chunks are streamed from the
+ * request straight into the file through NIO channels, and each chunk can be
+ * verified against a SHA-256 checksum before its offset is acknowledged.
+ */
+@Service
+public class UploadServiceImpl implements UploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadServiceImpl.class);
+
+    private static final String CHECKSUM_ALGORITHM = "sha256";
+    private static final int MAX_FILE_NAME_LENGTH = 100;
+
+    private final MediaUploadRepository mediaUploadRepository;
+    private final ContentRepository contentRepository;
+    private final EpisodeRepository episodeRepository;
+    private final MediaStorage mediaStorage;
+    private final DtoMapper dtoMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final String uploadDirectory;
+    private final Duration expiry;
+
+    // Uploads with a chunk currently being written
+    private final Set<UUID> activeUploads = ConcurrentHashMap.newKeySet();
+
+    public UploadServiceImpl(MediaUploadRepository mediaUploadRepository,
+                             ContentRepository contentRepository,
+                             EpisodeRepository episodeRepository,
+                             MediaStorage mediaStorage,
+                             DtoMapper dtoMapper,
+                             TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${media.upload.directory:uploads}") String uploadDirectory,
+                             @Value("${media.upload.expiry:7d}") Duration expiry) {
+        this.mediaUploadRepository = mediaUploadRepository;
+        this.contentRepository = contentRepository;
+        this.episodeRepository = episodeRepository;
+        this.mediaStorage = mediaStorage;
+        this.dtoMapper = dtoMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.uploadDirectory = uploadDirectory;
+        this.expiry = expiry;
+    }
+
+    @Override
+    @Transactional
+    public MediaUploadDto createUpload(CreateUploadDto createUploadDto) {
+        if ((createUploadDto.contentId() == null) == (createUploadDto.episodeId() == null)) {
+            throw new BusinessLogicException("Exactly one of contentId and episodeId is required");
+        }
+
+        MediaUpload upload = new MediaUpload();
+        if (createUploadDto.contentId() != null) {
+            upload.setContent(contentRepository.findById(createUploadDto.contentId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Content", "id", createUploadDto.contentId())));
+        } else {
+            upload.setEpisode(episodeRepository.findById(createUploadDto.episodeId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Episode", "id", createUploadDto.episodeId())));
+        }
+        upload.setFileName(createUploadDto.fileName());
+        upload.setStoragePath(uploadDirectory + "/" + UUID.randomUUID() + "/" + storageFileName(createUploadDto.fileName()));
+        upload.setUploadLength(createUploadDto.length());
+        upload.setUploadOffset(0);
+
+        try {
+            Path file = mediaStorage.locate(upload.getStoragePath());
+            Files.createDirectories(file.getParent());
+            Files.createFile(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create upload file", e);
+        }
+
+        return dtoMapper.toMediaUploadDto(mediaUploadRepository.save(upload));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<MediaUploadDto> getUpload(UUID id) {
+        return mediaUploadRepository.findById(id)
+                .map(dtoMapper::toMediaUploadDto);
+    }
+
+    /**
+     * Runs without a surrounding transaction so no connection is held while the chunk is received
+     */
+    @Override
+    public MediaUploadDto appendChunk(UUID id, long offset, String checksum, InputStream chunk) throws IOException {
+        if (!activeUploads.add(id)) {
+            throw new UploadConflictException("Another chunk of this upload is being written");
+        }
+
+        try {
+            MediaUpload upload = mediaUploadRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Upload", "id", id));
+            if (upload.isCompleted()) {
+                throw new UploadConflictException("Upload is already complete");
+            }
+            if (offset != upload.getUploadOffset()) {
+                throw new UploadConflictException("Upload offset is " + upload.getUploadOffset() + ", not " + offset);
+            }
+
+            byte[] expectedDigest = checksum != null ? parseChecksum(checksum) : null;
+            MessageDigest digest = expectedDigest != null ? sha256() : null;
+            long written;
+            try {
+                written = write(mediaStorage.locate(upload.getStoragePath()), offset,
+                        upload.getUploadLength() - offset, chunk, digest, expectedDigest);
+            } catch (BrokenChunkException e) {
+                // Move the offset past the kept bytes, so the client resumes after them instead of resending
+                IOException cause = (IOException) e.getCause();
+                try {
+                    transactionTemplate.execute(status -> acknowledge(id, offset + e.kept));
+                } catch (RuntimeException acknowledgeFailure) {
+                    cause.addSuppressed(acknowledgeFailure);
+                }
+                throw cause;
+            }
+
+            return transactionTemplate.execute(status -> acknowledge(id, offset + written));
+        } finally {
+            activeUploads.remove(id);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${media.upload.cleanup-interval:PT1H}")
+    @Transactional
+    public void removeAbandonedUploads() {
+        for (MediaUpload upload : mediaUploadRepository.findAbandonedBefore(LocalDateTime.now().minus(expiry))) {
+            if (activeUploads.contains(upload.getId())) {
+                continue;
+            }
+            try {
+                Path file = mediaStorage.locate(upload.getStoragePath());
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(file.getParent());
+            } catch (IOException e) {
+                logger.warn("Could not delete abandoned upload {}: {}", upload.getId(), e.getMessage());
+                continue;
+            }
+            mediaUploadRepository.delete(upload);
+            logger.info("Removed abandoned upload {} of {}", upload.getId(), upload.getFileName());
+        }
+    }
+
+    /**
+     * Streams the chunk into the file at the offset and returns the number of bytes kept.
+     * A chunk that fails verification is truncated away; an unverified chunk that breaks
+     * off keeps what arrived and reports it through {@link BrokenChunkException}, so the
+     * offset can be acknowledged and the client can resume from there.
+     */
+    private static long write(Path file, long offset, long remaining, InputStream chunk,
+                              MessageDigest digest, byte[] expectedDigest) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // Drop any bytes of an earlier chunk that were written but never acknowledged
+            channel.truncate(offset);
+
+            ReadableByteChannel source = Channels.newChannel(digest != null ? new DigestInputStream(chunk, digest) : chunk);
+            long written = 0;
+            try {
+                while (written < remaining) {
+                    long transferred = channel.transferFrom(source, offset + written, remaining - written);
+                    if (transferred == 0) {
+                        break;
+                    }
+                    written += transferred;
+                }
+            } catch (IOException e) {
+                if (digest != null) {
+                    channel.truncate(offset);
+                    throw e;
+                }
+                channel.force(false);
+                throw new BrokenChunkException(written, e);
+            }
+
+            if (written == remaining && chunk.read() != -1) {
+                channel.truncate(offset);
+                throw new BusinessLogicException("Chunk exceeds the declared upload length");
+            }
+            if (digest != null && !MessageDigest.isEqual(digest.digest(), expectedDigest)) {
+                channel.truncate(offset);
+                throw new BusinessLogicException("Chunk checksum does not match");
+            }
+
+            channel.force(false);
+            return written;
+        }
+    }
+
+    private MediaUploadDto acknowledge(UUID id, long offset) {
+        MediaUpload upload = mediaUploadRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload", "id", id));
+        upload.setUploadOffset(offset);
+
+        if (offset == upload.getUploadLength()) {
+            upload.setCompletedAt(LocalDateTime.now());
+            if (upload.getContent() != null) {
+                upload.getContent().setVideoUrl(upload.getStoragePath());
+                eventPublisher.publishEvent(new ContentChangedEvent(upload.getContent().getId()));
+            } else {
+                upload.getEpisode().setVideoUrl(upload.getStoragePath());
+            }
+            logger.info("Completed upload {} of {} ({} bytes)", id, upload.getFileName(), offset);
+        }
+
+        return dtoMapper.toMediaUploadDto(upload);
+    }
+
+    private static byte[] parseChecksum(String checksum) {
+        String[] parts = checksum.trim().split(" ", 2);
+        if (parts.length != 2 || !CHECKSUM_ALGORITHM.equalsIgnoreCase(parts[0])) {
+            throw new BusinessLogicException("Checksum must be given as '" + CHECKSUM_ALGORITHM + " <base64 digest>'");
+        }
+        try {
+            return Base64.getDecoder().decode(parts[1].trim());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessLogicException("Checksum digest is not valid base64");
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String storageFileName(String fileName) {
+        String baseName = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1);
+        String sanitized = baseName.replaceAll("[^A-Za-z0-9._-]", "_");
+        if (sanitized.isEmpty() || sanitized.chars().allMatch(c -> c == '.')) {
+            sanitized = "upload";
+        }
+        return sanitized.length() > MAX_FILE_NAME_LENGTH
+                ? sanitized.substring(sanitized.length() - MAX_FILE_NAME_LENGTH)
+                : sanitized;
+    }
+
+    /**
+     * An unverified chunk broke off after {@code kept} bytes were written and synced
+     */
+    private static final class BrokenChunkException extends IOException {
+
+        private final long kept;
+
+        BrokenChunkException(long kept, IOException cause) {
+            super(cause);
+            this.kept = kept;
+        }
+    }
+}
\ No newline at end of file
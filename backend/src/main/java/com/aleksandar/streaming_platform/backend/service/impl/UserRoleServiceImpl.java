@@ -2,6 +2,7 @@ package com.aleksandar.streaming_platform.backend.service.impl;
 
 import com.aleksandar.streaming_platform.backend.dto.UserDto;
 import com.aleksandar.streaming_platform.backend.dto.UserRoleDto;
+import com.aleksandar.streaming_platform.backend.event.UserAuthoritiesChangedEvent;
 import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
 import com.aleksandar.streaming_platform.backend.exception.DuplicateResourceException;
 import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
@@ -12,6 +13,7 @@ import com.aleksandar.streaming_platform.backend.model.UserRoleType;
 import com.aleksandar.streaming_platform.backend.repository.UserRepository;
 import com.aleksandar.streaming_platform.backend.repository.UserRoleRepository;
 import com.aleksandar.streaming_platform.backend.service.UserRoleService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,13 +29,16 @@ public class UserRoleServiceImpl implements UserRoleService {
     private final UserRoleRepository userRoleRepository;
     private final UserRepository userRepository;
     private final DtoMapper dtoMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     public UserRoleServiceImpl(UserRoleRepository userRoleRepository,
                               UserRepository userRepository,
-                              DtoMapper dtoMapper) {
+                              DtoMapper dtoMapper,
+                              ApplicationEventPublisher eventPublisher) {
         this.userRoleRepository = userRoleRepository;
         this.userRepository = userRepository;
         this.dtoMapper = dtoMapper;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -91,6 +96,7 @@ public class UserRoleServiceImpl implements UserRoleService {
         
         existingUserRole.setName(newRoleType);
         UserRole savedUserRole = userRoleRepository.save(existingUserRole);
+        eventPublisher.publishEvent(new UserAuthoritiesChangedEvent(null));
         return dtoMapper.toUserRoleDto(savedUserRole);
     }
     
@@ -107,6 +113,7 @@ public class UserRoleServiceImpl implements UserRoleService {
         }
         
         userRoleRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserAuthoritiesChangedEvent(null));
     }
     
     @Override
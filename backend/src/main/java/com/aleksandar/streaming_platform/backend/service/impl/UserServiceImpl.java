@@ -2,21 +2,31 @@ package com.aleksandar.streaming_platform.backend.service.impl;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
 import com.aleksandar.streaming_platform.backend.dto.CreateUserDto;
+import com.aleksandar.streaming_platform.backend.dto.CursorSliceDto;
 import com.aleksandar.streaming_platform.backend.dto.UserDto;
 import com.aleksandar.streaming_platform.backend.dto.WatchlistDto;
+import com.aleksandar.streaming_platform.backend.event.UserAuthoritiesChangedEvent;
+import com.aleksandar.streaming_platform.backend.event.WatchlistChangedEvent;
 import com.aleksandar.streaming_platform.backend.exception.AuthenticationException;
 import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
 import com.aleksandar.streaming_platform.backend.exception.DuplicateResourceException;
 import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import com.aleksandar.streaming_platform.backend.mapper.ContentDtoAssembler;
 import com.aleksandar.streaming_platform.backend.mapper.DtoMapper;
 import com.aleksandar.streaming_platform.backend.model.*;
+import com.aleksandar.streaming_platform.backend.pagination.SeekCursor;
 import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
 import com.aleksandar.streaming_platform.backend.repository.UserRepository;
 import com.aleksandar.streaming_platform.backend.repository.UserRoleRepository;
 import com.aleksandar.streaming_platform.backend.repository.WatchlistRepository;
+import com.aleksandar.streaming_platform.backend.service.RecommendationService;
 import com.aleksandar.streaming_platform.backend.service.UserService;
+import com.aleksandar.streaming_platform.backend.service.WatchProgressService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,20 +43,32 @@ public class UserServiceImpl implements UserService {
     private final WatchlistRepository watchlistRepository;
     private final ContentRepository contentRepository;
     private final DtoMapper dtoMapper;
+    private final ContentDtoAssembler contentDtoAssembler;
+    private final RecommendationService recommendationService;
+    private final WatchProgressService watchProgressService;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     
     public UserServiceImpl(UserRepository userRepository,
                           UserRoleRepository userRoleRepository,
                           WatchlistRepository watchlistRepository,
                           ContentRepository contentRepository,
                           DtoMapper dtoMapper,
-                          PasswordEncoder passwordEncoder) {
+                          ContentDtoAssembler contentDtoAssembler,
+                          RecommendationService recommendationService,
+                          WatchProgressService watchProgressService,
+                          PasswordEncoder passwordEncoder,
+                          ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.userRoleRepository = userRoleRepository;
         this.watchlistRepository = watchlistRepository;
         this.contentRepository = contentRepository;
         this.dtoMapper = dtoMapper;
+        this.contentDtoAssembler = contentDtoAssembler;
+        this.recommendationService = recommendationService;
+        this.watchProgressService = watchProgressService;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -93,6 +115,18 @@ public class UserServiceImpl implements UserService {
         return users.map(dtoMapper::toUserDto);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSliceDto<UserDto> getAllUsersByCursor(String cursor, int size) {
+        SeekCursor position = SeekCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, SeekCursor.clampSize(size));
+        Slice<User> users = position == null
+                ? userRepository.findFirstSliceOrderByCreatedAtDesc(limit)
+                : userRepository.findSliceCreatedBefore(position.sortKey(), position.id(), limit);
+        return SeekCursor.toSliceDto(users, dtoMapper.toUserDtoList(users.getContent()),
+                user -> new SeekCursor(user.getCreatedAt(), user.getId()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Page<UserDto> getUsersByCountry(String country, Pageable pageable) {
@@ -132,7 +166,9 @@ public class UserServiceImpl implements UserService {
         if (!userRepository.existsById(id)) {
             throw new ResourceNotFoundException("User", "id", id);
         }
+        watchProgressService.deleteProgressByUserId(id);
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserAuthoritiesChangedEvent(id));
     }
     
     @Override
@@ -172,6 +208,7 @@ public class UserServiceImpl implements UserService {
         
         user.setUserRole(userRole);
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAuthoritiesChangedEvent(userId));
         return dtoMapper.toUserDto(savedUser);
     }
     
@@ -179,16 +216,13 @@ public class UserServiceImpl implements UserService {
     @Transactional(readOnly = true)
     public Page<WatchlistDto> getWatchlistByUserId(UUID userId, Pageable pageable) {
         Page<Watchlist> watchlists = watchlistRepository.findByUserIdOrderByAddedAtDesc(userId, pageable);
-        return watchlists.map(dtoMapper::toWatchlistDto);
+        return contentDtoAssembler.toWatchlistDtoPage(watchlists);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getRecommendedContentForUser(UUID userId, Pageable pageable) {
-        // TODO: Implement recommendation algorithm
-        // For now, return recent available content
-        Page<Content> recentContent = contentRepository.findAvailableContentOrderByReleaseDateDesc(pageable);
-        return recentContent.map(dtoMapper::toContentDto);
+        return recommendationService.getRecommendations(userId, pageable);
     }
     
     @Override
@@ -200,15 +234,16 @@ public class UserServiceImpl implements UserService {
         Watchlist watchlist = new Watchlist();
         watchlist.setUserId(userId);
         watchlist.setContentId(contentId);
-        watchlistRepository.save(watchlist);
+        Watchlist savedWatchlist = watchlistRepository.save(watchlist);
+        eventPublisher.publishEvent(new WatchlistChangedEvent(userId, contentId, true, savedWatchlist.getAddedAt()));
     }
     
     @Override
     public void removeFromWatchlist(UUID userId, UUID contentId) {
-        if (!watchlistRepository.existsByUserIdAndContentId(userId, contentId)) {
-            throw new BusinessLogicException("Content not in watchlist");
-        }
-        watchlistRepository.deleteByUserIdAndContentId(userId, contentId);
+        Watchlist watchlist = watchlistRepository.findById(new WatchlistId(userId, contentId))
+                .orElseThrow(() -> new BusinessLogicException("Content not in watchlist"));
+        watchlistRepository.delete(watchlist);
+        eventPublisher.publishEvent(new WatchlistChangedEvent(userId, contentId, false, watchlist.getAddedAt()));
     }
     
     @Override
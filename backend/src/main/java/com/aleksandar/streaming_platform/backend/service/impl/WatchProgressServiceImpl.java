@@ -0,0 +1,355 @@
+package com.aleksandar.streaming_platform.backend.service.impl;
+
+import com.aleksandar.streaming_platform.backend.dto.ContinueWatchingDto;
+import com.aleksandar.streaming_platform.backend.dto.UpdateWatchProgressDto;
+import com.aleksandar.streaming_platform.backend.dto.WatchProgressDto;
+import com.aleksandar.streaming_platform.backend.event.ContentChangedEvent;
+import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
+import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import com.aleksandar.streaming_platform.backend.mapper.DtoMapper;
+import com.aleksandar.streaming_platform.backend.model.WatchProgress;
+import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
+import com.aleksandar.streaming_platform.backend.repository.ContentRepository.ContentCard;
+import com.aleksandar.streaming_platform.backend.repository.EpisodeRepository;
+import com.aleksandar.streaming_platform.backend.repository.EpisodeRepository.EpisodeSummary;
+import com.aleksandar.streaming_platform.backend.repository.WatchProgressRepository;
+import com.aleksandar.streaming_platform.backend.service.WatchProgressService;
+import com.aleksandar.streaming_platform.backend.service.impl.ProgressBuffer.Entry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Player heartbeats only touch memory: each one replaces the user's buffered
+ * position for that media, and the buffer is written to {@code watch_progress} with
+ * one batched upsert per flush interval. A viewer sending a heartbeat every few
+ * seconds therefore costs one row write per interval at most. On PostgreSQL the upsert
+ * keeps the newest position when several nodes flush the same row.
+ * The continue-watching row is served from a bounded per-user cache holding the latest
+ * entry of each recently watched content; it is filled from the database on first use
+ * and kept current by this node's heartbeats. Entries expire a fixed time after they
+ * were loaded, however often they are updated, so heartbeats that went to other nodes
+ * show up within recent-ttl plus their node's flush interval.
+ */
+@Service
+public class WatchProgressServiceImpl implements WatchProgressService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatchProgressServiceImpl.class);
+
+    private static final String COLUMNS =
+            "user_id, media_id, content_id, episode_id, position_seconds, duration_seconds, completed, updated_at";
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO watch_progress (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, media_id) DO UPDATE SET position_seconds = EXCLUDED.position_seconds, " +
+            "duration_seconds = EXCLUDED.duration_seconds, completed = EXCLUDED.completed, updated_at = EXCLUDED.updated_at " +
+            "WHERE watch_progress.updated_at < EXCLUDED.updated_at";
+    private static final String MERGE_UPSERT =
+            "MERGE INTO watch_progress (" + COLUMNS + ") KEY (user_id, media_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Stopping during the credits still counts as watched
+    private static final double COMPLETED_RATIO = 0.95;
+    private static final int STRIPES = 64;
+
+    private final WatchProgressRepository watchProgressRepository;
+    private final ContentRepository contentRepository;
+    private final EpisodeRepository episodeRepository;
+    private final DtoMapper dtoMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+    private final ProgressBuffer buffer = new ProgressBuffer(STRIPES);
+    // Media already checked to exist, mapped to their content
+    private final Cache<UUID, UUID> knownMedia;
+    private final int recentPerUser;
+    // Latest entry per content, newest first, for recently active users
+    private final Cache<UUID, List<Entry>> recentByUser;
+    private final Counter heartbeats;
+    private final Counter flushedRows;
+
+    private volatile String upsertSql;
+
+    public WatchProgressServiceImpl(WatchProgressRepository watchProgressRepository,
+                                    ContentRepository contentRepository,
+                                    EpisodeRepository episodeRepository,
+                                    DtoMapper dtoMapper,
+                                    JdbcTemplate jdbcTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${watch-progress.flush-batch-size:1000}") int batchSize,
+                                    @Value("${watch-progress.known-media-size:100000}") long knownMediaSize,
+                                    @Value("${watch-progress.recent-per-user:20}") int recentPerUser,
+                                    @Value("${watch-progress.recent-users:50000}") long recentUsers,
+                                    @Value("${watch-progress.recent-ttl:PT1M}") Duration recentTtl) {
+        this.watchProgressRepository = watchProgressRepository;
+        this.contentRepository = contentRepository;
+        this.episodeRepository = episodeRepository;
+        this.dtoMapper = dtoMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.knownMedia = Caffeine.newBuilder().maximumSize(knownMediaSize).build();
+        this.recentPerUser = recentPerUser;
+        // Timed from the load only; local updates must not keep other nodes' progress out indefinitely
+        this.recentByUser = Caffeine.newBuilder()
+                .maximumSize(recentUsers)
+                .expireAfter(Expiry.creating((UUID userId, List<Entry> recent) -> recentTtl))
+                .build();
+        this.heartbeats = meterRegistry.counter("watch.progress.heartbeats");
+        this.flushedRows = meterRegistry.counter("watch.progress.flushed");
+        Gauge.builder("watch.progress.buffered", buffer, ProgressBuffer::size).register(meterRegistry);
+    }
+
+    @Override
+    public void recordProgress(UUID userId, UpdateWatchProgressDto progress) {
+        UUID mediaId = progress.episodeId() != null ? progress.episodeId() : progress.contentId();
+        UUID contentId = knownMedia.get(mediaId, id -> findContentId(progress));
+        if (!contentId.equals(progress.contentId())) {
+            throw new BusinessLogicException("Episode " + progress.episodeId() + " does not belong to content " + progress.contentId());
+        }
+
+        Integer duration = progress.durationSeconds();
+        boolean completed = duration != null && progress.positionSeconds() >= duration * COMPLETED_RATIO;
+        Entry entry = new Entry(userId, contentId, progress.episodeId(), progress.positionSeconds(), duration,
+                completed, LocalDateTime.now());
+        buffer.put(entry);
+        recentByUser.asMap().computeIfPresent(userId, (id, recent) -> withLatest(recent, entry));
+        heartbeats.increment();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WatchProgressDto> getProgressByContentId(UUID userId, UUID contentId) {
+        Map<UUID, WatchProgressDto> progress = new HashMap<>();
+        for (WatchProgress persisted : watchProgressRepository.findByUserIdAndContentId(userId, contentId)) {
+            progress.put(persisted.getMediaId(), new WatchProgressDto(persisted.getContentId(), persisted.getEpisodeId(),
+                    persisted.getPositionSeconds(), persisted.getDurationSeconds(), persisted.isCompleted(),
+                    persisted.getUpdatedAt()));
+        }
+
+        for (Entry buffered : buffer.find(userId)) {
+            if (!buffered.contentId().equals(contentId)) {
+                continue;
+            }
+            WatchProgressDto current = progress.get(buffered.mediaId());
+            if (current == null || !buffered.updatedAt().isBefore(current.updatedAt())) {
+                progress.put(buffered.mediaId(), toWatchProgressDto(buffered));
+            }
+        }
+
+        return progress.values().stream()
+                .sorted(Comparator.comparing(WatchProgressDto::updatedAt).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ContinueWatchingDto> getContinueWatching(UUID userId, int limit) {
+        // Finished films drop out; a finished episode is replaced by the next one below
+        List<Entry> candidates = recentByUser.get(userId, this::loadRecent).stream()
+                .filter(entry -> !entry.completed() || entry.episodeId() != null)
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, ContentCard> cards = contentRepository.findAvailableCardsByIdIn(candidates.stream()
+                        .map(Entry::contentId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ContentCard::getId, Function.identity()));
+        Set<UUID> seriesIds = candidates.stream()
+                .filter(entry -> entry.episodeId() != null && cards.containsKey(entry.contentId()))
+                .map(Entry::contentId)
+                .collect(Collectors.toSet());
+        // Every episode of the listed series in one query, in season and episode order
+        Map<UUID, List<EpisodeSummary>> episodesByContent = seriesIds.isEmpty() ? Map.of()
+                : episodeRepository.findSummariesByContentIdIn(seriesIds).stream()
+                        .collect(Collectors.groupingBy(EpisodeSummary::getContentId));
+
+        List<ContinueWatchingDto> continueWatching = new ArrayList<>();
+        for (Entry entry : candidates) {
+            if (continueWatching.size() >= limit) {
+                break;
+            }
+            ContentCard card = cards.get(entry.contentId());
+            if (card == null) {
+                continue;
+            }
+
+            if (entry.episodeId() == null) {
+                continueWatching.add(new ContinueWatchingDto(card.getId(), card.getTitle(), card.getThumbnailUrl(),
+                        null, false, entry.positionSeconds(), entry.durationSeconds(), entry.updatedAt()));
+                continue;
+            }
+
+            List<EpisodeSummary> episodes = episodesByContent.getOrDefault(entry.contentId(), List.of());
+            int index = indexOf(episodes, entry.episodeId());
+            if (index < 0) {
+                continue;
+            }
+            if (!entry.completed()) {
+                continueWatching.add(new ContinueWatchingDto(card.getId(), card.getTitle(), card.getThumbnailUrl(),
+                        dtoMapper.toEpisodeSummaryDto(episodes.get(index)), false, entry.positionSeconds(),
+                        entry.durationSeconds(), entry.updatedAt()));
+            } else if (index + 1 < episodes.size()) {
+                // Same order as EpisodeService.getNextEpisode: later in the season, else the next season's first
+                continueWatching.add(new ContinueWatchingDto(card.getId(), card.getTitle(), card.getThumbnailUrl(),
+                        dtoMapper.toEpisodeSummaryDto(episodes.get(index + 1)), true, 0, null, entry.updatedAt()));
+            }
+        }
+        return continueWatching;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${watch-progress.flush-interval:PT10S}",
+            initialDelayString = "${watch-progress.flush-interval:PT10S}")
+    public synchronized void flush() {
+        List<Entry> entries = buffer.drain();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            jdbcTemplate.batchUpdate(upsertSql(), entries, batchSize, (statement, entry) -> {
+                statement.setObject(1, entry.userId());
+                statement.setObject(2, entry.mediaId());
+                statement.setObject(3, entry.contentId());
+                statement.setObject(4, entry.episodeId());
+                statement.setInt(5, entry.positionSeconds());
+                statement.setObject(6, entry.durationSeconds());
+                statement.setBoolean(7, entry.completed());
+                statement.setObject(8, entry.updatedAt());
+            });
+        } catch (DataAccessException e) {
+            // Retried on the next flush; the upsert is idempotent
+            buffer.restore(entries);
+            logger.warn("Failed to flush {} watch progress entries: {}", entries.size(), e.getMessage());
+            return;
+        }
+
+        buffer.flushed(entries);
+        flushedRows.increment(entries.size());
+        logger.debug("Flushed {} watch progress entries in {} ms", entries.size(), System.currentTimeMillis() - startTime);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onContentChanged(ContentChangedEvent event) {
+        // Any of the content's episodes may have been deleted, so they are checked again on the next heartbeat
+        knownMedia.asMap().values().removeIf(contentId -> contentId.equals(event.contentId()));
+        if (contentRepository.existsById(event.contentId())) {
+            // Heartbeats buffered for a deleted episode would otherwise be flushed back in
+            buffer.retainEpisodes(event.contentId(), new HashSet<>(episodeRepository.findIdsByContentId(event.contentId())));
+            return;
+        }
+        buffer.removeContent(event.contentId());
+        recentByUser.invalidateAll();
+        watchProgressRepository.deleteAllByContentId(event.contentId());
+    }
+
+    @Override
+    @Transactional
+    public void deleteProgressByUserId(UUID userId) {
+        buffer.removeUser(userId);
+        recentByUser.invalidate(userId);
+        watchProgressRepository.deleteAllByUserId(userId);
+    }
+
+    private List<Entry> loadRecent(UUID userId) {
+        List<Entry> recent = List.of();
+        for (WatchProgress persisted : watchProgressRepository.findLatestPerContentByUserId(userId, PageRequest.of(0, recentPerUser))) {
+            recent = withLatest(recent, new Entry(persisted.getUserId(), persisted.getContentId(), persisted.getEpisodeId(),
+                    persisted.getPositionSeconds(), persisted.getDurationSeconds(), persisted.isCompleted(),
+                    persisted.getUpdatedAt()));
+        }
+        // Heartbeats not flushed yet are newer than the database
+        for (Entry buffered : buffer.find(userId)) {
+            recent = withLatest(recent, buffered);
+        }
+        return recent;
+    }
+
+    /**
+     * Returns the list with the entry as its content's latest, unless a newer one is already there
+     */
+    private List<Entry> withLatest(List<Entry> recent, Entry entry) {
+        List<Entry> updated = new ArrayList<>(recent.size() + 1);
+        for (Entry current : recent) {
+            if (!current.contentId().equals(entry.contentId())) {
+                updated.add(current);
+            } else if (current.updatedAt().isAfter(entry.updatedAt())) {
+                return recent;
+            }
+        }
+        updated.add(entry);
+        updated.sort(Comparator.comparing(Entry::updatedAt).reversed());
+        return List.copyOf(updated.subList(0, Math.min(updated.size(), recentPerUser)));
+    }
+
+    private static int indexOf(List<EpisodeSummary> episodes, UUID episodeId) {
+        for (int i = 0; i < episodes.size(); i++) {
+            if (episodes.get(i).getId().equals(episodeId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private UUID findContentId(UpdateWatchProgressDto progress) {
+        if (progress.episodeId() != null) {
+            return episodeRepository.findContentIdById(progress.episodeId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Episode", "id", progress.episodeId()));
+        }
+        if (!contentRepository.existsById(progress.contentId())) {
+            throw new ResourceNotFoundException("Content", "id", progress.contentId());
+        }
+        return progress.contentId();
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            upsertSql = "PostgreSQL".equals(database) ? POSTGRES_UPSERT : MERGE_UPSERT;
+        }
+        return upsertSql;
+    }
+
+    private static WatchProgressDto toWatchProgressDto(Entry entry) {
+        return new WatchProgressDto(entry.contentId(), entry.episodeId(), entry.positionSeconds(),
+                entry.durationSeconds(), entry.completed(), entry.updatedAt());
+    }
+}
\ No newline at end of file
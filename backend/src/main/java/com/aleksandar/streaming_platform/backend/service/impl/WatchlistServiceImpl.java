@@ -1,20 +1,28 @@
 package com.aleksandar.streaming_platform.backend.service.impl;
 
 import com.aleksandar.streaming_platform.backend.dto.ContentDto;
+import com.aleksandar.streaming_platform.backend.dto.CursorSliceDto;
 import com.aleksandar.streaming_platform.backend.dto.UserDto;
 import com.aleksandar.streaming_platform.backend.dto.WatchlistDto;
+import com.aleksandar.streaming_platform.backend.event.WatchlistChangedEvent;
 import com.aleksandar.streaming_platform.backend.exception.BusinessLogicException;
 import com.aleksandar.streaming_platform.backend.exception.ResourceNotFoundException;
+import com.aleksandar.streaming_platform.backend.mapper.ContentDtoAssembler;
 import com.aleksandar.streaming_platform.backend.mapper.DtoMapper;
 import com.aleksandar.streaming_platform.backend.model.Content;
 import com.aleksandar.streaming_platform.backend.model.User;
 import com.aleksandar.streaming_platform.backend.model.Watchlist;
+import com.aleksandar.streaming_platform.backend.model.WatchlistId;
+import com.aleksandar.streaming_platform.backend.pagination.SeekCursor;
 import com.aleksandar.streaming_platform.backend.repository.ContentRepository;
 import com.aleksandar.streaming_platform.backend.repository.UserRepository;
 import com.aleksandar.streaming_platform.backend.repository.WatchlistRepository;
 import com.aleksandar.streaming_platform.backend.service.WatchlistService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,15 +37,21 @@ public class WatchlistServiceImpl implements WatchlistService {
     private final ContentRepository contentRepository;
     private final UserRepository userRepository;
     private final DtoMapper dtoMapper;
+    private final ContentDtoAssembler contentDtoAssembler;
+    private final ApplicationEventPublisher eventPublisher;
     
     public WatchlistServiceImpl(WatchlistRepository watchlistRepository,
                                ContentRepository contentRepository,
                                UserRepository userRepository,
-                               DtoMapper dtoMapper) {
+                               DtoMapper dtoMapper,
+                               ContentDtoAssembler contentDtoAssembler,
+                               ApplicationEventPublisher eventPublisher) {
         this.watchlistRepository = watchlistRepository;
         this.contentRepository = contentRepository;
         this.userRepository = userRepository;
         this.dtoMapper = dtoMapper;
+        this.contentDtoAssembler = contentDtoAssembler;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -59,36 +73,49 @@ public class WatchlistServiceImpl implements WatchlistService {
         watchlist.setContent(content);
         
         Watchlist savedWatchlist = watchlistRepository.save(watchlist);
-        return dtoMapper.toWatchlistDto(savedWatchlist);
+        eventPublisher.publishEvent(new WatchlistChangedEvent(userId, contentId, true, savedWatchlist.getAddedAt()));
+        return contentDtoAssembler.toWatchlistDto(savedWatchlist);
     }
     
     @Override
     public void removeFromWatchlist(UUID userId, UUID contentId) {
-        if (!watchlistRepository.existsByUserIdAndContentId(userId, contentId)) {
-            throw new BusinessLogicException("Content not in watchlist");
-        }
-        watchlistRepository.deleteByUserIdAndContentId(userId, contentId);
+        Watchlist watchlist = watchlistRepository.findById(new WatchlistId(userId, contentId))
+                .orElseThrow(() -> new BusinessLogicException("Content not in watchlist"));
+        watchlistRepository.delete(watchlist);
+        eventPublisher.publishEvent(new WatchlistChangedEvent(userId, contentId, false, watchlist.getAddedAt()));
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<WatchlistDto> getWatchlistByUserId(UUID userId, Pageable pageable) {
         Page<Watchlist> watchlists = watchlistRepository.findByUserId(userId, pageable);
-        return watchlists.map(dtoMapper::toWatchlistDto);
+        return contentDtoAssembler.toWatchlistDtoPage(watchlists);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<WatchlistDto> getWatchlistByUserIdOrderedByDate(UUID userId, Pageable pageable) {
         Page<Watchlist> watchlists = watchlistRepository.findByUserIdOrderByAddedAtDesc(userId, pageable);
-        return watchlists.map(dtoMapper::toWatchlistDto);
+        return contentDtoAssembler.toWatchlistDtoPage(watchlists);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSliceDto<WatchlistDto> getWatchlistByUserIdByCursor(UUID userId, String cursor, int size) {
+        SeekCursor position = SeekCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, SeekCursor.clampSize(size));
+        Slice<Watchlist> watchlists = position == null
+                ? watchlistRepository.findFirstSliceByUserId(userId, limit)
+                : watchlistRepository.findSliceByUserIdAddedBefore(userId, position.sortKey(), position.id(), limit);
+        return SeekCursor.toSliceDto(watchlists, contentDtoAssembler.toWatchlistDtoList(watchlists.getContent()),
+                watchlist -> new SeekCursor(watchlist.getAddedAt(), watchlist.getContentId()));
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getWatchlistContentByUserId(UUID userId, Pageable pageable) {
         Page<Watchlist> watchlists = watchlistRepository.findByUserIdOrderByAddedAtDesc(userId, pageable);
-        return watchlists.map(watchlist -> dtoMapper.toContentDto(watchlist.getContent()));
+        return contentDtoAssembler.toContentDtoPage(watchlists.map(Watchlist::getContent));
     }
     
     @Override
@@ -120,20 +147,23 @@ public class WatchlistServiceImpl implements WatchlistService {
     public void clearUserWatchlist(UUID userId) {
         List<Watchlist> watchlists = watchlistRepository.findByUserIdList(userId);
         watchlistRepository.deleteAll(watchlists);
+        watchlists.forEach(watchlist ->
+                eventPublisher.publishEvent(new WatchlistChangedEvent(userId, watchlist.getContentId(), false,
+                        watchlist.getAddedAt())));
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getWatchlistContentByUserIdAndGenre(UUID userId, String genreName, Pageable pageable) {
         Page<Watchlist> watchlists = watchlistRepository.findByUserIdAndContentGenreName(userId, genreName, pageable);
-        return watchlists.map(watchlist -> dtoMapper.toContentDto(watchlist.getContent()));
+        return contentDtoAssembler.toContentDtoPage(watchlists.map(Watchlist::getContent));
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<ContentDto> getWatchlistContentByUserIdAndType(UUID userId, String typeName, Pageable pageable) {
         Page<Watchlist> watchlists = watchlistRepository.findByUserIdAndContentTypeName(userId, typeName, pageable);
-        return watchlists.map(watchlist -> dtoMapper.toContentDto(watchlist.getContent()));
+        return contentDtoAssembler.toContentDtoPage(watchlists.map(Watchlist::getContent));
     }
     
     @Override
@@ -155,7 +185,9 @@ public class WatchlistServiceImpl implements WatchlistService {
                     newWatchlist.setContentId(watchlist.getContentId());
                     newWatchlist.setUser(toUser);
                     newWatchlist.setContent(watchlist.getContent());
-                    watchlistRepository.save(newWatchlist);
+                    Watchlist savedWatchlist = watchlistRepository.save(newWatchlist);
+                    eventPublisher.publishEvent(new WatchlistChangedEvent(toUserId, watchlist.getContentId(), true,
+                            savedWatchlist.getAddedAt()));
                 }
             }
             
@@ -0,0 +1,91 @@
+-- Schema of the application as released before migrations were introduced, when
+-- Hibernate created it through ddl-auto=update. Such databases are baselined here.
+
+create table content_genres (
+    content_id uuid not null,
+    genre_id uuid not null,
+    primary key (content_id, genre_id)
+);
+
+create table content_types (
+    id uuid not null,
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table contents (
+    is_available boolean not null,
+    release_date date,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    content_type_id uuid,
+    id uuid not null,
+    description TEXT,
+    duration varchar(255),
+    language varchar(255),
+    thumbnail_url varchar(255),
+    title varchar(255) not null,
+    video_url varchar(255),
+    primary key (id)
+);
+
+create table episodes (
+    episode_number integer not null,
+    release_date date,
+    season_number integer not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    content_id uuid not null,
+    id uuid not null,
+    description TEXT,
+    duration varchar(255),
+    thumbnail_url varchar(255),
+    title varchar(255) not null,
+    video_url varchar(255),
+    primary key (id)
+);
+
+create table genres (
+    id uuid not null,
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table user_roles (
+    id uuid not null,
+    name varchar(255) not null unique check (name in ('USER','ADMIN')),
+    primary key (id)
+);
+
+create table users (
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    user_role_id uuid,
+    country varchar(255),
+    email varchar(255) not null unique,
+    full_name varchar(255) not null,
+    hashed_password varchar(255) not null,
+    primary key (id)
+);
+
+create table watchlists (
+    added_at timestamp(6) not null,
+    content_id uuid not null,
+    user_id uuid not null,
+    primary key (content_id, user_id)
+);
+
+alter table if exists content_genres add constraint FKdc0fc8khsya1mhmi40toemk1d foreign key (content_id) references contents;
+
+alter table if exists content_genres add constraint FKgf3h9tv2snbp3sfk0uxv5sdkd foreign key (genre_id) references genres;
+
+alter table if exists contents add constraint FKatyj42lgux3ikqc05v81r41l9 foreign key (content_type_id) references content_types;
+
+alter table if exists episodes add constraint FKh4i5c4milc6o6d1jgimpjsthv foreign key (content_id) references contents;
+
+alter table if exists users add constraint FKsy1luwgtc2qas77si4xlrkjtl foreign key (user_role_id) references user_roles;
+
+alter table if exists watchlists add constraint FK92qavwlf9d4xodndlnud41tvn foreign key (content_id) references contents;
+
+alter table if exists watchlists add constraint FKsjis83bxhryaemq9m6gv5r0pb foreign key (user_id) references users;
\ No newline at end of file
@@ -0,0 +1,96 @@
+-- Tables, columns and indexes added after the baseline. Databases that ran a later
+-- build under ddl-auto=update already have some of them, so each statement is a no-op
+-- when its object exists.
+
+alter table genres add column if not exists updated_at timestamp(6);
+
+alter table content_types add column if not exists updated_at timestamp(6);
+
+create table if not exists media_packages (
+    segment_count integer,
+    segment_duration integer not null,
+    total_duration float(53),
+    completed_at timestamp(6),
+    created_at timestamp(6) not null,
+    content_id uuid,
+    episode_id uuid,
+    id uuid not null,
+    status varchar(20) not null check (status in ('PENDING','PROCESSING','READY','FAILED')),
+    error_message TEXT,
+    primary key (id),
+    constraint FK3lan4xedc0pr5rknlx9879xdw foreign key (content_id) references contents on delete cascade,
+    constraint FKewjv9sydolu0mcnlahw1cq9i1 foreign key (episode_id) references episodes on delete cascade
+);
+
+create table if not exists media_segments (
+    duration float(53) not null,
+    sequence_number integer not null,
+    size_bytes bigint not null,
+    id uuid not null,
+    package_id uuid not null,
+    file_name varchar(255) not null,
+    primary key (id),
+    constraint uk_media_segments_package_sequence unique (package_id, sequence_number),
+    constraint FK44xqored40bxbr70ce48yuloi foreign key (package_id) references media_packages on delete cascade
+);
+
+create table if not exists media_uploads (
+    completed_at timestamp(6),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    upload_length bigint not null,
+    upload_offset bigint not null,
+    content_id uuid,
+    episode_id uuid,
+    id uuid not null,
+    file_name varchar(255) not null,
+    storage_path varchar(255) not null,
+    primary key (id),
+    constraint FKlaex8hepg31dv2ygj14pnpte8 foreign key (content_id) references contents on delete cascade,
+    constraint FKm9h4e3m56e8vco7id148veso8 foreign key (episode_id) references episodes on delete cascade
+);
+
+create table if not exists popularity_scores (
+    score float(53) not null,
+    scored_at timestamp(6) not null,
+    subject_id uuid not null,
+    subject_type varchar(20) not null check (subject_type in ('CONTENT','GENRE','CONTENT_TYPE')),
+    primary key (subject_id, subject_type)
+);
+
+create table if not exists user_recommendations (
+    recommendation_rank integer not null,
+    score float(53) not null,
+    content_id uuid not null,
+    user_id uuid not null,
+    primary key (content_id, user_id),
+    constraint FKpxeehwqhih5spu3ict7jtplia foreign key (content_id) references contents
+);
+
+create table if not exists watch_progress (
+    completed boolean not null,
+    duration_seconds integer,
+    position_seconds integer not null,
+    updated_at timestamp(6) not null,
+    content_id uuid not null,
+    episode_id uuid,
+    media_id uuid not null,
+    user_id uuid not null,
+    primary key (media_id, user_id)
+);
+
+create index if not exists idx_contents_created_at_id on contents (created_at, id);
+
+create index if not exists idx_episodes_content_season_episode on episodes (content_id, season_number, episode_number);
+
+create index if not exists idx_media_packages_content_id on media_packages (content_id);
+
+create index if not exists idx_media_packages_episode_id on media_packages (episode_id);
+
+create index if not exists idx_user_recommendations_user_rank on user_recommendations (user_id, recommendation_rank);
+
+create index if not exists idx_users_created_at_id on users (created_at, id);
+
+create index if not exists idx_watch_progress_user_updated_at on watch_progress (user_id, updated_at);
+
+create index if not exists idx_watchlists_user_added_at on watchlists (user_id, added_at, content_id);
\ No newline at end of file
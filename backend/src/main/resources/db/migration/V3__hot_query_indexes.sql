@@ -0,0 +1,30 @@
+-- Composite and covering indexes for the repository queries on the request path.
+-- IF NOT EXISTS keeps this safe on databases baselined from a ddl-auto=update schema.
+
+-- ContentRepository.findByContentTypeId, countByContentTypeId and the type name filters
+create index if not exists idx_contents_content_type_id on contents (content_type_id);
+
+-- ContentRepository.findByLanguage
+create index if not exists idx_contents_language on contents (language);
+
+-- ContentRepository.findByReleaseDateBetween and findByReleaseDateAfter
+create index if not exists idx_contents_release_date on contents (release_date);
+
+-- ContentRepository.findByIsAvailable and the available cursor slices, which only ever ask for available content
+create index if not exists idx_contents_available_created_at_id on contents (created_at, id) where is_available;
+
+-- Genre to content joins read both columns from the index alone; the primary key covers content to genre
+create index if not exists idx_content_genres_genre_content on content_genres (genre_id, content_id);
+drop index if exists idx_content_genres_genre_id;
+
+-- WatchProgressRepository.findByUserIdAndContentId and the latest-per-content subquery
+create index if not exists idx_watch_progress_user_content_updated_at on watch_progress (user_id, content_id, updated_at);
+
+-- WatchProgressRepository.deleteAllByContentId when content is deleted
+create index if not exists idx_watch_progress_content_id on watch_progress (content_id);
+
+-- MediaUploadRepository.findAbandonedBefore
+create index if not exists idx_media_uploads_unfinished_updated_at on media_uploads (updated_at) where completed_at is null;
+
+-- UserRepository.findByCountry
+create index if not exists idx_users_country on users (country);
\ No newline at end of file
@@ -0,0 +1,5 @@
+-- The node packaging a media package renews heartbeat_at while the package is queued or running,
+-- so other nodes can tell its unfinished packages from the ones a stopped node left behind.
+alter table media_packages add column if not exists heartbeat_at timestamp(6);
+update media_packages set heartbeat_at = created_at where heartbeat_at is null;
+alter table media_packages alter column heartbeat_at set not null;
\ No newline at end of file
@@ -0,0 +1,182 @@
+package com.aleksandar.streaming_platform.backend.controller;
+
+import com.aleksandar.streaming_platform.backend.media.MediaStorage;
+import com.aleksandar.streaming_platform.backend.media.MediaStreamer;
+import com.aleksandar.streaming_platform.backend.service.PackagingService;
+import com.aleksandar.streaming_platform.backend.service.StreamingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Covers the byte range and conditional request handling of the stream endpoint
+ * against a real file, without the application context.
+ */
+class StreamControllerTests {
+
+	private static final int LENGTH = 1000;
+
+	@TempDir
+	Path storageRoot;
+
+	private MockMvc mockMvc;
+
+	private byte[] bytes;
+
+	private String url;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		bytes = new byte[LENGTH];
+		for (int i = 0; i < LENGTH; i++) {
+			bytes[i] = (byte) i;
+		}
+		Files.write(storageRoot.resolve("video.mp4"), bytes);
+
+		StreamingService streamingService = mock(StreamingService.class);
+		when(streamingService.getVideoLocation(any())).thenReturn("video.mp4");
+
+		StreamController controller = new StreamController(streamingService, mock(PackagingService.class),
+				new MediaStorage(storageRoot.toString()), new MediaStreamer(false));
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+		url = "/api/v1/stream/" + UUID.randomUUID();
+	}
+
+	@Test
+	void servesTheFullBodyWithoutRange() throws Exception {
+		MockHttpServletResponse response = mockMvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, LENGTH))
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse();
+
+		assertThat(response.getContentAsByteArray()).isEqualTo(bytes);
+	}
+
+	@Test
+	void servesASingleRange() throws Exception {
+		MockHttpServletResponse response = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=100-199"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/1000"))
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+				.andReturn().getResponse();
+
+		assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(bytes, 100, 200));
+	}
+
+	@Test
+	void servesOpenEndedAndSuffixRanges() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=900-"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 900-999/1000"));
+
+		MockHttpServletResponse response = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-10"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 990-999/1000"))
+				.andReturn().getResponse();
+
+		assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(bytes, 990, 1000));
+	}
+
+	@Test
+	void servesSeveralRangesAsMultipart() throws Exception {
+		MockHttpServletResponse response = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9,500-509"))
+				.andExpect(status().isPartialContent())
+				.andReturn().getResponse();
+
+		assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+		String body = new String(response.getContentAsByteArray(), StandardCharsets.ISO_8859_1);
+		assertThat(body).contains("Content-Range: bytes 0-9/1000", "Content-Range: bytes 500-509/1000");
+		assertThat(response.getContentAsByteArray()).hasSize(Integer.parseInt(response.getHeader(HttpHeaders.CONTENT_LENGTH)));
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+	}
+
+	@Test
+	void answersHeadWithoutABody() throws Exception {
+		MockHttpServletResponse response = mockMvc.perform(head(url).header(HttpHeaders.RANGE, "bytes=0-99"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+				.andReturn().getResponse();
+
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void honoursIfRangeOnlyForTheCurrentEtag() throws Exception {
+		String etag = currentEtag();
+
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, etag))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/1000"));
+
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "\"stale\""))
+				.andExpect(status().isOk())
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, LENGTH));
+
+		// If-Range needs a strong match, so the weak form of the current tag does not count
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "W/" + etag))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void answersNotModifiedForAMatchingEtag() throws Exception {
+		String etag = currentEtag();
+
+		MockHttpServletResponse response = mockMvc.perform(get(url)
+						.header(HttpHeaders.IF_NONE_MATCH, etag)
+						.header(HttpHeaders.RANGE, "bytes=0-9"))
+				.andExpect(status().isNotModified())
+				.andReturn().getResponse();
+
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void rejectsAWellFormedRangeBeyondTheEnd() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=1000-1099"))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */1000"));
+	}
+
+	@Test
+	void rejectsOverlappingRangesLargerThanTheFile() throws Exception {
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-999,0-999"))
+				.andExpect(status().isRequestedRangeNotSatisfiable());
+	}
+
+	@Test
+	void ignoresAMalformedRange() throws Exception {
+		for (String range : new String[] {"bytes=abc", "bytes=20-10", "items=0-9", "bytes"}) {
+			MockHttpServletResponse response = mockMvc.perform(get(url).header(HttpHeaders.RANGE, range))
+					.andExpect(status().isOk())
+					.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, LENGTH))
+					.andReturn().getResponse();
+
+			assertThat(response.getContentAsByteArray()).isEqualTo(bytes);
+		}
+	}
+
+	private String currentEtag() throws Exception {
+		return mockMvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+}
\ No newline at end of file
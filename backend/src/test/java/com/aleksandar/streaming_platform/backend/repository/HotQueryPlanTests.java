@@ -0,0 +1,290 @@
+package com.aleksandar.streaming_platform.backend.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans the hot repository queries against a seeded Postgres whose schema comes from
+ * the Flyway migrations, and fails if any of them reads a large table sequentially.
+ * Each repository method is called for real and every statement Hibernate issues for it
+ * is planned, so paged methods are checked through both their page and count queries.
+ * Statements listed in {@link #EXEMPT} are allowed to scan. Skipped when Docker is not available.
+ */
+@SpringBootTest(properties = {
+		"spring.flyway.enabled=true",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+		"spring.jpa.show-sql=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class HotQueryPlanTests {
+
+	// Small lookup tables are cheaper to scan than to probe, so only these are checked
+	private static final Set<String> LARGE_TABLES = Set.of("contents", "episodes", "content_genres", "watchlists",
+			"watch_progress", "users", "media_uploads");
+	private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+	// Pages are fetched one row at a time so a full page always triggers the count query; plans use a real page size
+	private static final Pageable FIRST = PageRequest.of(0, 1);
+	private static final int PAGE_SIZE = 20;
+
+	// Statements allowed to read a large table sequentially, with the reason the scan is the right plan
+	private static final Map<String, String> EXEMPT = Map.of(
+			"ContentRepository.findByIsAvailable",
+			"unordered and ~90% of contents match, so the scan stops as soon as the page is filled",
+			"ContentRepository.findByIsAvailable (count)",
+			"counts ~90% of contents; the partial index only wins while the visibility map is current",
+			"ContentRepository.findByContentTypeId",
+			"unordered and a type matches ~20% of contents, so the scan stops as soon as the page is filled");
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+	private static boolean seeded;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private StatementRecorder recorder;
+
+	@Autowired
+	private EpisodeRepository episodeRepository;
+
+	@Autowired
+	private WatchlistRepository watchlistRepository;
+
+	@Autowired
+	private ContentRepository contentRepository;
+
+	@Autowired
+	private ContentGenreRepository contentGenreRepository;
+
+	@Autowired
+	private WatchProgressRepository watchProgressRepository;
+
+	@Autowired
+	private MediaUploadRepository mediaUploadRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private final List<String> sequentialScans = new ArrayList<>();
+
+	@BeforeEach
+	void seedCatalog() {
+		if (seeded) {
+			return;
+		}
+		jdbcTemplate.update("INSERT INTO user_roles (id, name) VALUES (gen_random_uuid(), 'USER'), (gen_random_uuid(), 'ADMIN')");
+		jdbcTemplate.update("INSERT INTO content_types (id, name, updated_at) " +
+				"SELECT gen_random_uuid(), 'type ' || i, now() FROM generate_series(1, 5) i");
+		jdbcTemplate.update("INSERT INTO genres (id, name, updated_at) " +
+				"SELECT gen_random_uuid(), 'genre ' || i, now() FROM generate_series(1, 40) i");
+		jdbcTemplate.update("INSERT INTO contents (id, title, description, language, release_date, is_available, " +
+				"content_type_id, created_at, updated_at) " +
+				"SELECT gen_random_uuid(), 'Title ' || i, repeat('x', 200), 'lang' || (i % 100), " +
+				"DATE '1990-01-01' + (i % 12000), i % 10 <> 0, t.ids[1 + i % 5], " +
+				"now() - i * INTERVAL '1 minute', now() " +
+				"FROM generate_series(1, 50000) i, (SELECT array_agg(id) AS ids FROM content_types) t");
+		jdbcTemplate.update("INSERT INTO episodes (id, content_id, season_number, episode_number, title, created_at, updated_at) " +
+				"SELECT gen_random_uuid(), c.id, s, e, 'Episode ' || e, now(), now() " +
+				"FROM (SELECT id FROM contents ORDER BY id LIMIT 5000) c, generate_series(1, 3) s, generate_series(1, 10) e");
+		jdbcTemplate.update("INSERT INTO content_genres (content_id, genre_id) " +
+				"SELECT c.id, g.ids[1 + (c.n + k) % 40] " +
+				"FROM (SELECT id, row_number() OVER (ORDER BY id) AS n FROM contents) c, generate_series(0, 2) k, " +
+				"(SELECT array_agg(id) AS ids FROM genres) g");
+		jdbcTemplate.update("INSERT INTO users (id, email, full_name, hashed_password, country, user_role_id, created_at, updated_at) " +
+				"SELECT gen_random_uuid(), 'user' || i || '@example.com', 'User ' || i, 'hash', 'country' || (i % 50), " +
+				"r.id, now() - i * INTERVAL '1 minute', now() " +
+				"FROM generate_series(1, 20000) i, (SELECT id FROM user_roles WHERE name = 'USER') r");
+		jdbcTemplate.update("INSERT INTO watchlists (user_id, content_id, added_at) " +
+				"SELECT u.id, c.ids[1 + (u.n * 7 + k * 131) % 50000], now() - k * INTERVAL '1 hour' " +
+				"FROM (SELECT id, row_number() OVER (ORDER BY id) AS n FROM users) u, generate_series(0, 9) k, " +
+				"(SELECT array_agg(id) AS ids FROM contents) c");
+		jdbcTemplate.update("INSERT INTO watch_progress (user_id, media_id, content_id, position_seconds, duration_seconds, " +
+				"completed, updated_at) " +
+				"SELECT u.id, c.ids[1 + (u.n * 13 + k * 97) % 50000], c.ids[1 + (u.n * 13 + k * 97) % 50000], 60, 3600, " +
+				"false, now() - k * INTERVAL '1 hour' " +
+				"FROM (SELECT id, row_number() OVER (ORDER BY id) AS n FROM users) u, generate_series(0, 4) k, " +
+				"(SELECT array_agg(id) AS ids FROM contents) c");
+		jdbcTemplate.update("INSERT INTO media_uploads (id, file_name, storage_path, upload_length, upload_offset, " +
+				"created_at, updated_at, completed_at) " +
+				"SELECT gen_random_uuid(), 'file' || i, 'uploads/' || i, 100, 100, now(), now() - i * INTERVAL '1 minute', " +
+				"CASE WHEN i % 20 = 0 THEN NULL ELSE now() END FROM generate_series(1, 20000) i");
+		jdbcTemplate.execute("VACUUM ANALYZE");
+		seeded = true;
+	}
+
+	@Test
+	void hotQueriesUseIndexes() {
+		UUID series = jdbcTemplate.queryForObject("SELECT content_id FROM episodes LIMIT 1", UUID.class);
+		UUID genre = jdbcTemplate.queryForObject("SELECT id FROM genres LIMIT 1", UUID.class);
+		UUID contentType = jdbcTemplate.queryForObject("SELECT id FROM content_types LIMIT 1", UUID.class);
+		UUID user = jdbcTemplate.queryForObject("SELECT user_id FROM watch_progress LIMIT 1", UUID.class);
+		UUID watched = jdbcTemplate.queryForObject("SELECT content_id FROM watch_progress WHERE user_id = ? LIMIT 1",
+				UUID.class, user);
+		UUID listed = jdbcTemplate.queryForObject("SELECT content_id FROM watchlists LIMIT 1", UUID.class);
+		LocalDate from = LocalDate.of(2000, 1, 1);
+		LocalDate to = LocalDate.of(2000, 1, 31);
+		LocalDateTime now = LocalDateTime.now();
+
+		plan("EpisodeRepository.findByContentIdAndSeasonNumberAndEpisodeNumber",
+				() -> episodeRepository.findByContentIdAndSeasonNumberAndEpisodeNumber(series, 2, 5), series, 2, 5);
+		plan("EpisodeRepository.findByContentId",
+				() -> episodeRepository.findByContentId(series, FIRST), series);
+		plan("EpisodeRepository.findByContentIdOrderBySeasonNumberAscEpisodeNumberAsc",
+				() -> episodeRepository.findByContentIdOrderBySeasonNumberAscEpisodeNumberAsc(series, FIRST), series);
+		plan("EpisodeRepository.findEpisodesAfter",
+				() -> episodeRepository.findEpisodesAfter(series, 1, 10, FIRST), series, 1, 10);
+		plan("EpisodeRepository.findEpisodesBefore",
+				() -> episodeRepository.findEpisodesBefore(series, 2, 5, FIRST), series, 2, 5);
+		plan("EpisodeRepository.findSummariesByContentId",
+				() -> episodeRepository.findSummariesByContentId(series), series);
+		plan("WatchlistRepository.findByContentId",
+				() -> watchlistRepository.findByContentId(listed, FIRST), listed);
+		plan("WatchlistRepository.findByUserId",
+				() -> watchlistRepository.findByUserId(user, FIRST), user);
+		plan("WatchlistRepository.existsByUserIdAndContentId",
+				() -> watchlistRepository.existsByUserIdAndContentId(user, listed), user, listed);
+		plan("ContentRepository.findByIsAvailable",
+				() -> contentRepository.findByIsAvailable(true, FIRST), true);
+		plan("ContentRepository.findByContentTypeId",
+				() -> contentRepository.findByContentTypeId(contentType, FIRST), contentType);
+		plan("ContentRepository.findByLanguage",
+				() -> contentRepository.findByLanguage("lang7", FIRST), "lang7");
+		plan("ContentRepository.findByReleaseDateBetween",
+				() -> contentRepository.findByReleaseDateBetween(from, to, FIRST), from, to);
+		plan("ContentRepository.findFirstAvailableSliceOrderByCreatedAtDesc",
+				() -> contentRepository.findFirstAvailableSliceOrderByCreatedAtDesc(FIRST));
+		plan("ContentRepository.findAvailableSliceCreatedBefore",
+				() -> contentRepository.findAvailableSliceCreatedBefore(now, series, FIRST), now, series);
+		plan("ContentRepository.findVersionById",
+				() -> contentRepository.findVersionById(series), series);
+		plan("ContentGenreRepository.findByGenreId",
+				() -> contentGenreRepository.findByGenreId(genre), genre);
+		plan("ContentGenreRepository.findGenreIdsByContentId",
+				() -> contentGenreRepository.findGenreIdsByContentId(series), series);
+		plan("ContentGenreRepository.findContentByGenreId",
+				() -> contentGenreRepository.findContentByGenreId(genre, FIRST), genre);
+		plan("WatchProgressRepository.findByUserIdAndContentId",
+				() -> watchProgressRepository.findByUserIdAndContentId(user, watched), user, watched);
+		plan("WatchProgressRepository.findLatestPerContentByUserId",
+				() -> watchProgressRepository.findLatestPerContentByUserId(user, FIRST), user);
+		plan("WatchProgressRepository.deleteAllByContentId",
+				() -> watchProgressRepository.deleteAllByContentId(watched), watched);
+		plan("MediaUploadRepository.findAbandonedBefore",
+				() -> mediaUploadRepository.findAbandonedBefore(now.minusDays(7)), now.minusDays(7));
+		plan("UserRepository.findByCountry",
+				() -> userRepository.findByCountry("country7", FIRST), "country7");
+
+		assertThat(sequentialScans).as("queries planned with a sequential scan").isEmpty();
+	}
+
+	/**
+	 * Calls the repository method in a rolled back transaction and plans every statement
+	 * it issued, with {@code args} bound in the order their placeholders appear. A trailing
+	 * row limit is bound to {@link #PAGE_SIZE}.
+	 */
+	private void plan(String method, Runnable call, Object... args) {
+		List<String> statements = recorder.record(() -> transactionTemplate.executeWithoutResult(status -> {
+			call.run();
+			status.setRollbackOnly();
+		}));
+		assertThat(statements).as(method + " issued no statements").isNotEmpty();
+
+		for (String sql : new LinkedHashSet<>(statements)) {
+			String name = sql.startsWith("select count(") ? method + " (count)" : method;
+			List<Object> bound = new ArrayList<>(Arrays.asList(args));
+			if (sql.endsWith("rows only")) {
+				bound.add(PAGE_SIZE);
+			}
+			assertThat(bound).as("bindings for " + name + ": " + sql).hasSize((int) sql.chars().filter(c -> c == '?').count());
+
+			String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, bound.toArray()));
+			Matcher matcher = SEQ_SCAN.matcher(plan);
+			while (matcher.find()) {
+				if (LARGE_TABLES.contains(matcher.group(1)) && !EXEMPT.containsKey(name)) {
+					sequentialScans.add(name + "\n" + sql + "\n" + plan);
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Keeps the SQL Hibernate prepares on the recording thread, so statements from
+	 * background work such as index loading are left out.
+	 */
+	private static final class StatementRecorder implements StatementInspector {
+
+		private final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+		List<String> record(Runnable call) {
+			List<String> recorded = new ArrayList<>();
+			statements.set(recorded);
+			try {
+				call.run();
+			} finally {
+				statements.remove();
+			}
+			return recorded;
+		}
+
+		@Override
+		public String inspect(String sql) {
+			List<String> recorded = statements.get();
+			if (recorded != null) {
+				recorded.add(sql);
+			}
+			return sql;
+		}
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class RecordingConfiguration {
+
+		@Bean
+		StatementRecorder statementRecorder() {
+			return new StatementRecorder();
+		}
+
+		@Bean
+		HibernatePropertiesCustomizer statementRecorderCustomizer(StatementRecorder statementRecorder) {
+			return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementRecorder);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.aleksandar.streaming_platform.backend.service;
+
+import com.aleksandar.streaming_platform.backend.dto.ContentDto;
+import com.aleksandar.streaming_platform.backend.dto.GenreDto;
+import com.aleksandar.streaming_platform.backend.model.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ContentCatalogQueryCountTests {
+
+	private static final int CONTENT_COUNT = 40;
+
+	@Autowired
+	private ContentService contentService;
+
+	@Autowired
+	private GenreService genreService;
+
+	@Autowired
+	private ContentGenreService contentGenreService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	private Genre drama;
+
+	private List<Genre> seededGenres;
+
+	@BeforeEach
+	void seedCatalog() {
+		ContentType series = new ContentType();
+		series.setName("Series");
+		entityManager.persist(series);
+
+		List<Genre> genres = new ArrayList<>();
+		for (String name : List.of("Drama", "Comedy", "Thriller")) {
+			Genre genre = new Genre();
+			genre.setName(name);
+			entityManager.persist(genre);
+			genres.add(genre);
+		}
+		drama = genres.get(0);
+		seededGenres = genres;
+
+		for (int i = 0; i < CONTENT_COUNT; i++) {
+			Content content = new Content();
+			content.setTitle("Show " + i);
+			content.setContentType(series);
+			entityManager.persist(content);
+
+			for (Genre genre : genres.subList(0, 2)) {
+				ContentGenre contentGenre = new ContentGenre();
+				contentGenre.setContentId(content.getId());
+				contentGenre.setGenreId(genre.getId());
+				entityManager.persist(contentGenre);
+			}
+
+			for (int episodeNumber = 1; episodeNumber <= 3; episodeNumber++) {
+				Episode episode = new Episode();
+				episode.setSeasonNumber(1);
+				episode.setEpisodeNumber(episodeNumber);
+				episode.setTitle("Episode " + episodeNumber);
+				episode.setContent(content);
+				entityManager.persist(episode);
+			}
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void catalogPageIsLoadedInConstantNumberOfStatements() {
+		long smallPageStatements = statementsFor(() -> contentService.getAllContent(PageRequest.of(0, 5)));
+		long largePageStatements = statementsFor(() -> contentService.getAllContent(PageRequest.of(0, 20)));
+
+		// page + count + genre links + genres + episode counts, regardless of page size
+		assertThat(largePageStatements).isLessThanOrEqualTo(5);
+		assertThat(largePageStatements).isEqualTo(smallPageStatements);
+	}
+
+	@Test
+	void catalogPageIsFullyPopulated() {
+		Page<ContentDto> page = contentService.getAllContent(PageRequest.of(0, 20));
+
+		assertThat(page.getContent()).hasSize(20);
+		assertThat(page.getContent()).allSatisfy(content -> {
+			assertThat(content.contentType().name()).isEqualTo("Series");
+			assertThat(content.genres()).hasSize(2);
+			assertThat(content.episodeCount()).isEqualTo(3);
+		});
+	}
+
+	@Test
+	void genreContentPageLoadsOnlyTheRequestedRows() {
+		entityManager.clear();
+		statistics.clear();
+		Page<ContentDto> page = genreService.getContentByGenreId(drama.getId(), PageRequest.of(0, 5));
+
+		assertThat(page.getTotalElements()).isEqualTo(CONTENT_COUNT);
+		assertThat(page.getContent()).hasSize(5);
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+		// 5 contents, their type and their genres, not the whole genre
+		assertThat(statistics.getEntityLoadCount()).isLessThan(CONTENT_COUNT);
+	}
+
+	@Test
+	void contentGenrePageIsPagedInTheDatabase() {
+		Page<ContentDto> catalog = contentService.getAllContent(PageRequest.of(0, 1));
+		Page<GenreDto> genres = contentService.getGenresByContentId(catalog.getContent().get(0).id(), PageRequest.of(1, 1));
+
+		assertThat(genres.getTotalElements()).isEqualTo(2);
+		assertThat(genres.getContent()).hasSize(1);
+	}
+
+	@Test
+	void replacingGenresIsSetBased() {
+		UUID contentId = contentService.getAllContent(PageRequest.of(0, 1)).getContent().get(0).id();
+		List<UUID> replacement = List.of(seededGenres.get(1).getId(), seededGenres.get(2).getId());
+
+		long statements = statementsFor(() -> contentGenreService.bulkAssignGenresToContent(contentId, replacement));
+
+		// content check + genre check + one DELETE + remaining links + touch; the insert is a JDBC batch
+		assertThat(statements).isLessThanOrEqualTo(5);
+		entityManager.clear();
+		assertThat(contentGenreService.getGenresByContentId(contentId))
+				.extracting(GenreDto::name)
+				.containsExactlyInAnyOrder("Comedy", "Thriller");
+	}
+
+	private long statementsFor(Runnable query) {
+		entityManager.clear();
+		statistics.clear();
+		query.run();
+		return statistics.getPrepareStatementCount();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.aleksandar.streaming_platform.backend.service;
+
+import com.aleksandar.streaming_platform.backend.dto.UpdateWatchProgressDto;
+import com.aleksandar.streaming_platform.backend.dto.WatchProgressDto;
+import com.aleksandar.streaming_platform.backend.model.Content;
+import com.aleksandar.streaming_platform.backend.model.ContentType;
+import com.aleksandar.streaming_platform.backend.model.Episode;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the heartbeat path from many threads and reports the sustained rate. The
+ * assertions cover coalescing and read-your-writes; the rate is logged rather than
+ * asserted, since it depends on the machine running the build.
+ */
+@SpringBootTest(properties = "watch-progress.flush-interval=PT1H")
+class WatchProgressThroughputTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(WatchProgressThroughputTests.class);
+
+	private static final int THREADS = 8;
+	private static final int USERS = 2_000;
+	private static final int EPISODES = 10;
+	private static final int HEARTBEATS_PER_THREAD = 50_000;
+
+	@Autowired
+	private WatchProgressService watchProgressService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private UUID contentId;
+
+	private List<UUID> episodeIds;
+
+	@BeforeEach
+	void seedSeries() {
+		transactionTemplate.executeWithoutResult(status -> {
+			ContentType series = new ContentType();
+			series.setName("Progress Series");
+			entityManager.persist(series);
+
+			Content content = new Content();
+			content.setTitle("Long Running Show");
+			content.setContentType(series);
+			entityManager.persist(content);
+			contentId = content.getId();
+
+			episodeIds = new ArrayList<>();
+			for (int episodeNumber = 1; episodeNumber <= EPISODES; episodeNumber++) {
+				Episode episode = new Episode();
+				episode.setSeasonNumber(1);
+				episode.setEpisodeNumber(episodeNumber);
+				episode.setTitle("Episode " + episodeNumber);
+				episode.setContent(content);
+				entityManager.persist(episode);
+				episodeIds.add(episode.getId());
+			}
+		});
+	}
+
+	@AfterEach
+	void removeSeries() {
+		watchProgressService.flush();
+		jdbcTemplate.update("DELETE FROM watch_progress");
+		jdbcTemplate.update("DELETE FROM episodes WHERE content_id = ?", contentId);
+		jdbcTemplate.update("DELETE FROM contents WHERE id = ?", contentId);
+		jdbcTemplate.update("DELETE FROM content_types WHERE name = 'Progress Series'");
+	}
+
+	@Test
+	void heartbeatsAreCoalescedBeforeTheyReachTheDatabase() throws Exception {
+		List<UUID> users = new ArrayList<>();
+		for (int i = 0; i < USERS; i++) {
+			users.add(UUID.randomUUID());
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		long startTime = System.nanoTime();
+		List<Future<?>> workers = new ArrayList<>();
+		for (int thread = 0; thread < THREADS; thread++) {
+			int offset = thread;
+			workers.add(executor.submit(() -> {
+				for (int i = 0; i < HEARTBEATS_PER_THREAD; i++) {
+					int n = i * THREADS + offset;
+					// Every user cycles through every episode
+					UUID episodeId = episodeIds.get(n / USERS % EPISODES);
+					watchProgressService.recordProgress(users.get(n % USERS),
+							new UpdateWatchProgressDto(contentId, episodeId, i, 3_600));
+				}
+			}));
+		}
+		for (Future<?> worker : workers) {
+			worker.get();
+		}
+		long elapsedNanos = System.nanoTime() - startTime;
+		executor.shutdown();
+
+		long heartbeats = (long) THREADS * HEARTBEATS_PER_THREAD;
+		logger.info("Recorded {} heartbeats from {} threads in {} ms ({} heartbeats/s)",
+				heartbeats, THREADS, elapsedNanos / 1_000_000, heartbeats * 1_000_000_000L / elapsedNanos);
+
+		// Buffered progress is visible before any flush
+		UUID user = users.get(0);
+		assertThat(watchProgressService.getProgressByContentId(user, contentId)).isNotEmpty();
+
+		long flushStart = System.nanoTime();
+		watchProgressService.flush();
+		logger.info("Flushed the buffer in {} ms", (System.nanoTime() - flushStart) / 1_000_000);
+
+		// One row per user and episode, however many heartbeats each received
+		Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM watch_progress", Long.class);
+		assertThat(rows).isEqualTo((long) USERS * EPISODES);
+
+		List<WatchProgressDto> progress = watchProgressService.getProgressByContentId(user, contentId);
+		assertThat(progress).hasSize(EPISODES);
+		assertThat(progress).extracting(WatchProgressDto::episodeId).containsExactlyInAnyOrderElementsOf(episodeIds);
+	}
+}
\ No newline at end of file